@@ -2,8 +2,10 @@ package com.recruitai.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RecruitAiApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(RecruitAiApiApplication.class, args);
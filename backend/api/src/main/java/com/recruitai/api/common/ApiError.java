@@ -0,0 +1,53 @@
+package com.recruitai.api.common;
+
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Expected error responses. Each one is serialized once here, so failing
+ * requests (bad logins, replayed refresh tokens, a saturated hashing pool)
+ * cost no per-response map or JSON writing.
+ */
+public enum ApiError {
+
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, "Invalid credentials"),
+    FORBIDDEN(HttpStatus.FORBIDDEN, "Forbidden"),
+    USERNAME_TAKEN(HttpStatus.CONFLICT, "Username already exists"),
+    EMAIL_TAKEN(HttpStatus.CONFLICT, "Email already exists"),
+    INVALID_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, "Invalid refresh token"),
+    REFRESH_TOKEN_REVOKED(HttpStatus.UNAUTHORIZED, "Refresh token expired or revoked"),
+    IMPORT_IN_PROGRESS(HttpStatus.CONFLICT, "Another user import is already running"),
+    JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "Job not found"),
+    APPLICATION_NOT_FOUND(HttpStatus.NOT_FOUND, "Application not found"),
+    RESUME_REQUIRED(HttpStatus.BAD_REQUEST, "jobId and resumeFile are required"),
+    RESUME_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "Resume file is too large"),
+    SCREENING_IN_PROGRESS(HttpStatus.CONFLICT, "Screening is already running for this job"),
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Server busy, retry shortly"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+
+    private final HttpStatus status;
+    private final String message;
+    private final byte[] body;
+
+    ApiError(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        // Messages are constants without quotes or backslashes, so no escaping is needed
+        this.body = ("{\"message\":\"" + message + "\",\"code\":\"" + name() + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    /** Shared JSON body; callers must not modify it. */
+    byte[] body() {
+        return body;
+    }
+}
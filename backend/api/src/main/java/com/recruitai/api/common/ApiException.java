@@ -0,0 +1,20 @@
+package com.recruitai.api.common;
+
+/**
+ * Base for expected, client-caused failures mapped to a fixed {@link ApiError}
+ * response. No stack trace is captured: these are part of normal traffic
+ * (wrong passwords, replayed tokens) and are never logged with a trace.
+ */
+public abstract class ApiException extends RuntimeException {
+
+    private final ApiError error;
+
+    protected ApiException(ApiError error) {
+        super(error.message(), null, false, false);
+        this.error = error;
+    }
+
+    public ApiError getError() {
+        return error;
+    }
+}
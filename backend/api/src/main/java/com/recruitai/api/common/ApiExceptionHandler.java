@@ -1,12 +1,25 @@
 package com.recruitai.api.common;
 
+import org.apache.catalina.connector.ClientAbortException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +27,22 @@ import java.util.Map;
 @ControllerAdvice
 public class ApiExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<byte[]> handleApi(ApiException ex) {
+        return respond(ex.getError());
+    }
+
+    // @PreAuthorize failures surface here, not in the security filter chain
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<byte[]> handleAccessDenied(AccessDeniedException ex) {
+        return respond(ApiError.FORBIDDEN);
+    }
+
+    // This body and the validation one below stay per-request maps: their message
+    // or field list depends on the input, so they cannot be an ApiError constant.
+    // Stuffing traffic sends well-formed logins, so it ends in INVALID_CREDENTIALS.
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
         Map<String, Object> body = new LinkedHashMap<>();
@@ -22,6 +51,24 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    // Malformed path or query values, e.g. a non-UUID id
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return handleIllegalArgument(new IllegalArgumentException("Invalid value for " + ex.getName()));
+    }
+
+    // Resume upload (multipart) limits: spring.servlet.multipart.max-file-size / max-request-size
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<byte[]> handleUploadTooLarge(MaxUploadSizeExceededException ex) {
+        return respond(ApiError.RESUME_TOO_LARGE);
+    }
+
+    @ExceptionHandler({ MissingServletRequestPartException.class, MissingServletRequestParameterException.class,
+            MultipartException.class })
+    public ResponseEntity<byte[]> handleMissingUpload(Exception ex) {
+        return respond(ApiError.RESUME_REQUIRED);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, Object> body = new LinkedHashMap<>();
@@ -36,11 +83,27 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    // The client closed the connection mid-response (e.g. left a screening
+    // event stream); there is nobody to answer and nothing worth a stack trace.
+    // Any other IOException is a server-side failure and goes to handleOther.
+    @ExceptionHandler({ AsyncRequestNotUsableException.class, ClientAbortException.class })
+    public void handleClientAbort(IOException ex) {
+        log.debug("Response aborted: {}", ex.toString());
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleOther(Exception ex) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("message", "Internal server error");
-        body.put("code", "INTERNAL_ERROR");
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+    public ResponseEntity<byte[]> handleOther(Exception ex) {
+        // The only path where a stack trace is worth having
+        log.error("Unhandled exception", ex);
+        return respond(ApiError.INTERNAL_ERROR);
+    }
+
+    private static ResponseEntity<byte[]> respond(ApiError error) {
+        ResponseEntity.BodyBuilder res = ResponseEntity.status(error.status())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (error == ApiError.SERVICE_BUSY) {
+            res.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return res.body(error.body());
     }
 }
@@ -0,0 +1,88 @@
+package com.recruitai.api.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas
+ * (app.datasource.read-replicas). Replaces Boot's single pool with the same
+ * spring.datasource / spring.datasource.hikari settings as the primary, wrapped
+ * so the connection is only chosen once the transaction is known to be
+ * read-only. Everything else, including Flyway, stays on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // Comma-separated JDBC URLs; credentials default to the primary's
+    @Value("${app.datasource.read-replicas.urls}")
+    private List<String> urls;
+
+    @Value("${app.datasource.read-replicas.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${app.datasource.read-replicas.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${app.datasource.read-replicas.pool-size:20}")
+    private int poolSize;
+
+    // Short, so a dead replica costs a request this much before it falls back
+    @Value("${app.datasource.read-replicas.connection-timeout-ms:250}")
+    private long connectionTimeoutMs;
+
+    @Value("${app.datasource.read-replicas.max-lag-seconds:1.0}")
+    private double maxLagSeconds;
+
+    @Value("${app.datasource.read-replicas.check-interval-ms:1000}")
+    private long checkIntervalMs;
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRouter readReplicaRouter(HikariDataSource primaryDataSource, DataSourceProperties properties) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName("replica-" + i);
+            ds.setJdbcUrl(urls.get(i).trim());
+            ds.setDriverClassName(properties.determineDriverClassName());
+            ds.setUsername(username);
+            ds.setPassword(password);
+            ds.setMaximumPoolSize(poolSize);
+            ds.setConnectionTimeout(connectionTimeoutMs);
+            ds.setReadOnly(true);
+            // Start even if a replica is down; the lag check keeps it out of rotation
+            ds.setInitializationFailTimeout(-1);
+            replicas.add(ds);
+        }
+        return new ReadReplicaRouter(primaryDataSource, replicas, maxLagSeconds, checkIntervalMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicaRouter router) {
+        LazyConnectionDataSourceProxy ds = new LazyConnectionDataSourceProxy(primaryDataSource);
+        ds.setReadOnlyDataSource(router.readOnlyDataSource());
+        return ds;
+    }
+}
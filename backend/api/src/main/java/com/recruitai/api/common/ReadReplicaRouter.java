@@ -0,0 +1,222 @@
+package com.recruitai.api.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Picks the connection for read-only transactions: round-robin over the
+ * replicas whose replay lag is within bounds, else the primary.
+ *
+ * Lag is sampled on a dedicated thread, so a slow check (or a long reaper run
+ * on the shared scheduler) never delays routing; a replica whose last good
+ * sample is too old counts as lagging. A replica that fails to hand out a
+ * connection is skipped until its next good sample.
+ *
+ * Plugged in as the read-only target of a LazyConnectionDataSourceProxy, which
+ * defers fetching a connection until the transaction's read-only flag is known.
+ */
+public class ReadReplicaRouter implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    // 0 when everything received has been replayed (an idle primary would
+    // otherwise look like growing lag); -1 when the server is not a standby
+    private static final String LAG_SQL = "select case when not pg_is_in_recovery() then -1 "
+            + "when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+    private static volatile boolean active;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final long staleAfterNanos;
+    private final ScheduledExecutorService checker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final DataSource readOnlyDataSource = new ReadOnlyDataSource();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReadsForced = new LongAdder();
+    private final LongAdder primaryReadsFallback = new LongAdder();
+
+    public ReadReplicaRouter(DataSource primary, List<HikariDataSource> replicas, double maxLagSeconds,
+            long checkIntervalMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLagSeconds;
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMillis * 3);
+        this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-check");
+            t.setDaemon(true);
+            return t;
+        });
+        checkLag();
+        checker.scheduleWithFixedDelay(this::checkLag, checkIntervalMillis, checkIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        active = true;
+    }
+
+    /** Target for read-only transactions. */
+    public DataSource readOnlyDataSource() {
+        return readOnlyDataSource;
+    }
+
+    /**
+     * Runs {@code work} with read-only transactions on the primary. The work
+     * must start its own transaction; one already bound to the thread keeps
+     * its connection.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null)
+                FORCE_PRIMARY.remove();
+            else
+                FORCE_PRIMARY.set(previous);
+        }
+    }
+
+    /**
+     * Runs {@code lookup}; if replicas are in use and it finds nothing, runs it
+     * again on the primary. For reads that must see a row written moments ago
+     * (a user who just signed up), at the cost of a second query only on a miss.
+     */
+    public static <T> Optional<T> findWithPrimaryFallback(Supplier<Optional<T>> lookup) {
+        Optional<T> found = lookup.get();
+        if (found.isPresent() || !active)
+            return found;
+        return onPrimary(lookup);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("db.routing.reads", replicaReads, LongAdder::sum)
+                .tag("target", "replica").tag("reason", "read_only").register(registry);
+        FunctionCounter.builder("db.routing.reads", primaryReadsForced, LongAdder::sum)
+                .tag("target", "primary").tag("reason", "forced").register(registry);
+        FunctionCounter.builder("db.routing.reads", primaryReadsFallback, LongAdder::sum)
+                .tag("target", "primary").tag("reason", "no_replica_available").register(registry);
+        for (Replica r : replicas) {
+            Gauge.builder("db.replica.lag", r, x -> x.lagSeconds).tag("replica", r.name)
+                    .baseUnit("seconds").register(registry);
+            Gauge.builder("db.replica.usable", r, x -> usable(x, System.nanoTime()) ? 1 : 0).tag("replica", r.name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        active = false;
+        checker.shutdownNow();
+        for (Replica r : replicas)
+            r.ds.close();
+    }
+
+    private boolean usable(Replica r, long now) {
+        return r.healthy && now - r.checkedAtNanos <= staleAfterNanos;
+    }
+
+    void checkLag() {
+        for (Replica r : replicas) {
+            boolean wasHealthy = r.healthy;
+            boolean first = r.checkedAtNanos == 0;
+            String error = null;
+            try (Connection c = r.ds.getConnection(); Statement st = c.createStatement()) {
+                st.setQueryTimeout(1);
+                try (ResultSet rs = st.executeQuery(LAG_SQL)) {
+                    rs.next();
+                    double lag = rs.getDouble(1);
+                    if (lag < 0 && !r.notStandbyLogged) {
+                        // Fine for a local two-instance setup; in production it means a promoted replica
+                        log.warn("Read replica {} is not in recovery; routing reads to it anyway", r.name);
+                        r.notStandbyLogged = true;
+                    }
+                    r.lagSeconds = Math.max(0, lag);
+                    r.healthy = r.lagSeconds <= maxLagSeconds;
+                    r.checkedAtNanos = System.nanoTime();
+                }
+            } catch (SQLException | RuntimeException e) {
+                r.healthy = false;
+                error = e.getMessage();
+            }
+            if (wasHealthy && !r.healthy)
+                log.warn("Read replica {} out of rotation (lag {}s, max {}s){}", r.name, r.lagSeconds, maxLagSeconds,
+                        error != null ? ": " + error : "");
+            else if (!wasHealthy && r.healthy)
+                log.info("Read replica {} {} rotation (lag {}s)", r.name, first ? "in" : "back in", r.lagSeconds);
+        }
+    }
+
+    private static final class Replica {
+        final String name;
+        final HikariDataSource ds;
+        volatile boolean healthy;
+        volatile double lagSeconds;
+        volatile long checkedAtNanos;
+        boolean notStandbyLogged; // checker thread only
+
+        Replica(HikariDataSource ds) {
+            this.ds = ds;
+            this.name = ds.getPoolName();
+        }
+    }
+
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (FORCE_PRIMARY.get() != null) {
+                primaryReadsForced.increment();
+                return primary.getConnection();
+            }
+            long now = System.nanoTime();
+            int n = replicas.size();
+            int start = next.getAndIncrement();
+            for (int i = 0; i < n; i++) {
+                Replica r = replicas.get(Math.floorMod(start + i, n));
+                if (!usable(r, now))
+                    continue;
+                try {
+                    Connection c = r.ds.getConnection();
+                    replicaReads.increment();
+                    return c;
+                } catch (SQLException e) {
+                    // Out until the checker sees it answer again
+                    r.healthy = false;
+                    log.warn("Read replica {} unavailable, falling back: {}", r.name, e.getMessage());
+                }
+            }
+            primaryReadsFallback.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLException("Read replicas use their configured credentials");
+        }
+    }
+}
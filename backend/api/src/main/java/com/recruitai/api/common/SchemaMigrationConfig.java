@@ -0,0 +1,31 @@
+package com.recruitai.api.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaMigrationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrationConfig.class);
+
+    // Unlike spring.flyway.enabled this is read at runtime, so it still works in
+    // an AOT-processed build (where auto-configuration conditions are fixed at
+    // build time). Off for the CDS training run, which has no database, and for
+    // instances started after a separate migration step.
+    @Value("${app.schema.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if (migrateOnStartup)
+                flyway.migrate();
+            else
+                log.info("Skipping schema migrations (app.schema.migrate-on-startup=false)");
+        };
+    }
+}
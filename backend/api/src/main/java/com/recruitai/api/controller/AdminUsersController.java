@@ -0,0 +1,41 @@
+package com.recruitai.api.controller;
+
+import com.recruitai.api.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUsersController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final UserImportService importer;
+
+    public AdminUsersController(UserImportService importer) {
+        this.importer = importer;
+    }
+
+    /**
+     * Bulk-creates users from a CSV (header: username,email,password[,role]) or
+     * NDJSON upload. Streams NDJSON back: one line per rejected row, a progress
+     * line per chunk, then a final summary.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", NDJSON }, produces = NDJSON)
+    public void importUsers(HttpServletRequest req, HttpServletResponse res) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(req.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                        ? UserImportService.Format.CSV
+                        : UserImportService.Format.NDJSON;
+        res.setContentType(NDJSON);
+        importer.importUsers(req.getInputStream(), format, res.getOutputStream());
+    }
+}
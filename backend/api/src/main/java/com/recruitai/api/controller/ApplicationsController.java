@@ -0,0 +1,96 @@
+package com.recruitai.api.controller;
+
+import com.recruitai.api.dto.application.ApplicationCreated;
+import com.recruitai.api.security.UserPrincipal;
+import com.recruitai.api.service.ApplicationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/applications")
+public class ApplicationsController {
+
+    // Tomcat's sendfile request attributes (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ApplicationService applications;
+
+    public ApplicationsController(ApplicationService applications) {
+        this.applications = applications;
+    }
+
+    /**
+     * Applies to a job with a resume upload (multipart: jobId, resumeFile). The
+     * part is streamed into the resume store; see docs/resume-storage.md.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('CANDIDATE')")
+    public ResponseEntity<ApplicationCreated> apply(@AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam("jobId") UUID jobId, @RequestPart("resumeFile") MultipartFile resumeFile)
+            throws IOException {
+        try (InputStream in = resumeFile.getInputStream()) {
+            ApplicationCreated created = applications.submit(principal.getUser().getId(), jobId, in);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+    }
+
+    /**
+     * The application's resume file (applicant, the job's creator, or ADMIN;
+     * anyone else gets 404). Store files go out through the connector's
+     * sendfile (FileChannel.transferTo to the socket) when available, else
+     * through transferTo into the response stream.
+     */
+    @GetMapping("/{id}/resume")
+    public void resume(@AuthenticationPrincipal UserPrincipal principal, @PathVariable("id") UUID id,
+            HttpServletRequest req, HttpServletResponse res) throws IOException {
+        ApplicationService.Resume resume = applications.resume(id, principal.getUser());
+        // Untrusted upload: never rendered inline by the browser (nosniff comes from Spring Security)
+        res.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        res.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"resume-" + id + "\"");
+        res.setContentLengthLong(resume.size());
+        if (resume.file() == null) {
+            res.getOutputStream().write(resume.bytes());
+            return;
+        }
+        if (Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORTED))) {
+            // Store files never change once written, so the connector may send it after we return
+            req.setAttribute(SENDFILE_FILENAME, resume.file().toString());
+            req.setAttribute(SENDFILE_START, 0L);
+            req.setAttribute(SENDFILE_END, resume.size());
+            return;
+        }
+        try (FileChannel file = FileChannel.open(resume.file())) {
+            OutputStream out = res.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long pos = 0;
+            long n;
+            while (pos < resume.size() && (n = file.transferTo(pos, resume.size() - pos, target)) > 0)
+                pos += n;
+        }
+    }
+}
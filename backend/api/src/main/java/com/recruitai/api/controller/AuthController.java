@@ -46,6 +46,14 @@ public class AuthController {
         auth.logout(req.getRefreshToken());
     }
 
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal UserPrincipal principal) {
+        if (principal == null)
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        auth.logoutAll(principal.getUser().getId());
+        return ResponseEntity.noContent().build();
+    }
+
     // Convenience endpoint to verify auth wiring (frontend uses /users/me; see
     // UsersController)
     @GetMapping("/me")
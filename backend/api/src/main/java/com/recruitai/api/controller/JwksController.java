@@ -0,0 +1,33 @@
+package com.recruitai.api.controller;
+
+import com.recruitai.api.security.JwtService;
+import io.jsonwebtoken.security.Jwks;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/** Public verification keys for access tokens (RFC 7517 JWK Set). */
+@RestController
+public class JwksController {
+
+    private final byte[] body;
+
+    public JwksController(JwtService jwt) {
+        // Keys only change on restart, so serialize once; empty for HMAC (nothing public to share)
+        String keys = jwt.getKeys().publicJwks().stream().map(Jwks::json).collect(Collectors.joining(","));
+        this.body = ("{\"keys\":[" + keys + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(body);
+    }
+}
@@ -0,0 +1,38 @@
+package com.recruitai.api.controller;
+
+import com.recruitai.api.security.UserPrincipal;
+import com.recruitai.api.service.ScreeningBatchService;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/screening")
+public class ScreeningController {
+
+    private final ScreeningBatchService batches;
+
+    public ScreeningController(ScreeningBatchService batches) {
+        this.batches = batches;
+    }
+
+    /**
+     * Screens every SUBMITTED application of the job (Round 1) and streams
+     * Server-Sent Events: started, results + progress per page, then done
+     * (with the top final scores) or failed. Recruiters may only screen jobs
+     * they created.
+     */
+    @PostMapping(value = "/jobs/{jobId}/run", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public SseEmitter screenJob(@AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable("jobId") UUID jobId) {
+        return batches.start(jobId, principal.getUser());
+    }
+}
@@ -0,0 +1,32 @@
+package com.recruitai.api.dto.application;
+
+import java.util.UUID;
+
+public class ApplicationCreated {
+    private UUID applicationId;
+    private String status;
+
+    public ApplicationCreated() {
+    }
+
+    public ApplicationCreated(UUID applicationId, String status) {
+        this.applicationId = applicationId;
+        this.status = status;
+    }
+
+    public UUID getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(UUID applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,99 @@
+package com.recruitai.api.dto.screening;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Batch state sent as the started / progress / done / failed events. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScreeningProgress {
+    private UUID jobId;
+    private long total;
+    private long processed;
+    private long passed;
+    private long failed;
+    private long skipped;
+    private long elapsedMs;
+    // Best final scores, on the done event only
+    private List<ScreeningResult> top;
+
+    public ScreeningProgress() {
+    }
+
+    public ScreeningProgress(UUID jobId, long total, long processed, long passed, long failed, long skipped,
+            long elapsedMs, List<ScreeningResult> top) {
+        this.jobId = jobId;
+        this.total = total;
+        this.processed = processed;
+        this.passed = passed;
+        this.failed = failed;
+        this.skipped = skipped;
+        this.elapsedMs = elapsedMs;
+        this.top = top;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getPassed() {
+        return passed;
+    }
+
+    public void setPassed(long passed) {
+        this.passed = passed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public List<ScreeningResult> getTop() {
+        return top;
+    }
+
+    public void setTop(List<ScreeningResult> top) {
+        this.top = top;
+    }
+}
@@ -0,0 +1,52 @@
+package com.recruitai.api.dto.screening;
+
+import java.util.UUID;
+
+public class ScreeningResult {
+    private UUID applicationId;
+    private double kwScore;
+    private double finalScore;
+    private boolean passed;
+
+    public ScreeningResult() {
+    }
+
+    public ScreeningResult(UUID applicationId, double kwScore, double finalScore, boolean passed) {
+        this.applicationId = applicationId;
+        this.kwScore = kwScore;
+        this.finalScore = finalScore;
+        this.passed = passed;
+    }
+
+    public UUID getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(UUID applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public double getKwScore() {
+        return kwScore;
+    }
+
+    public void setKwScore(double kwScore) {
+        this.kwScore = kwScore;
+    }
+
+    public double getFinalScore() {
+        return finalScore;
+    }
+
+    public void setFinalScore(double finalScore) {
+        this.finalScore = finalScore;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public void setPassed(boolean passed) {
+        this.passed = passed;
+    }
+}
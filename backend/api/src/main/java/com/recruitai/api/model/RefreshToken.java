@@ -2,16 +2,18 @@ package com.recruitai.api.model;
 
 import com.recruitai.api.model.User;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_refresh_user", columnList = "user_id"),
-        @Index(name = "idx_refresh_family", columnList = "family_id")
+        @Index(name = "idx_refresh_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_refresh_family_created", columnList = "family_id, created_at"),
+        @Index(name = "idx_refresh_expires", columnList = "expires_at")
 })
-public class RefreshToken {
+public class RefreshToken implements Persistable<UUID> {
 
     @Id
     @Column(nullable = false, updatable = false)
@@ -31,6 +33,10 @@ public class RefreshToken {
     @Column(name = "revoked", nullable = false)
     private boolean revoked = false;
 
+    // Start of the revoked-token retention window (RefreshTokenReaper)
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
     // For rotation families and reuse detection
     @Column(name = "family_id", nullable = false, updatable = false)
     private UUID familyId = UUID.randomUUID();
@@ -41,6 +47,15 @@ public class RefreshToken {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    // jti of the access token issued alongside; denylisted when this token's family is revoked
+    @Column(name = "access_jti", length = 64, updatable = false)
+    private String accessJti;
+
+    // Ids are assigned up front, so tell Spring Data when a row is new; otherwise
+    // save() would merge() and issue a SELECT before every INSERT.
+    @Transient
+    private boolean isNew = true;
+
     public RefreshToken() {
     }
 
@@ -52,10 +67,22 @@ public class RefreshToken {
             this.familyId = familyId;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     public void setId(UUID id) {
         this.id = id;
     }
@@ -92,6 +119,14 @@ public class RefreshToken {
         this.revoked = revoked;
     }
 
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
     public UUID getFamilyId() {
         return familyId;
     }
@@ -108,6 +143,14 @@ public class RefreshToken {
         this.replacedBy = replacedBy;
     }
 
+    public String getAccessJti() {
+        return accessJti;
+    }
+
+    public void setAccessJti(String accessJti) {
+        this.accessJti = accessJti;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
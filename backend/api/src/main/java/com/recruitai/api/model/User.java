@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.UUID;
 
+// Only used for generated schemas (loadtest on H2). On PostgreSQL the
+// migrations replace these with unique lower(username) / lower(email) indexes.
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_users_username", columnList = "username", unique = true),
@@ -3,6 +3,10 @@ package com.recruitai.api.repository;
 import com.recruitai.api.model.User;
 import com.recruitai.api.model.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -10,9 +14,63 @@ import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    // Access token issued alongside a refresh token row
+    interface PairedAccessToken {
+        String getAccessJti();
+
+        Instant getCreatedAt();
+    }
+
     Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-    List<RefreshToken> findAllByUserAndFamilyId(User user, UUID familyId);
+    @Query("select t from RefreshToken t join fetch t.user where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Atomically claims a live token for rotation: only one concurrent caller can
+    // flip revoked from false to true, so exactly one refresh wins (returns 1).
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true, t.revokedAt = :now, t.replacedBy = :replacedBy "
+            + "where t.tokenHash = :tokenHash and t.revoked = false and t.expiresAt > :now")
+    int claimForRotation(@Param("tokenHash") String tokenHash, @Param("replacedBy") UUID replacedBy,
+            @Param("now") Instant now);
+
+    // When a token was issued; for a rotated token's successor, when the rotation happened
+    @Query("select t.createdAt from RefreshToken t where t.id = :id")
+    Optional<Instant> findCreatedAtById(@Param("id") UUID id);
+
+    // Set-based revocation: one statement regardless of how many sessions exist
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true, t.revokedAt = :now "
+            + "where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    // Only rows created after issuedAfter can still have an unexpired paired access token
+    @Query("select t.accessJti as accessJti, t.createdAt as createdAt from RefreshToken t "
+            + "where t.familyId = :familyId and t.accessJti is not null and t.createdAt > :issuedAfter")
+    List<PairedAccessToken> findPairedAccessTokensByFamily(@Param("familyId") UUID familyId,
+            @Param("issuedAfter") Instant issuedAfter);
+
+    @Query("select t.accessJti as accessJti, t.createdAt as createdAt from RefreshToken t "
+            + "where t.user.id = :userId and t.accessJti is not null and t.createdAt > :issuedAfter")
+    List<PairedAccessToken> findPairedAccessTokensByUser(@Param("userId") UUID userId,
+            @Param("issuedAfter") Instant issuedAfter);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true, t.revokedAt = :now "
+            + "where t.user.id = :userId and t.revoked = false")
+    int revokeAllForUser(@Param("userId") UUID userId, @Param("now") Instant now);
 
     long deleteByUserAndExpiresAtBefore(User user, Instant before);
+
+    // One bounded batch for RefreshTokenReaper. SKIP LOCKED keeps it off rows a
+    // concurrent refresh is rotating; the LIMIT keeps each lock window short.
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from refresh_tokens where id in ("
+            + "select id from refresh_tokens "
+            + "where expires_at < :now or (revoked = true and revoked_at < :revokedBefore) "
+            + "limit :batchSize for update skip locked)")
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("revokedBefore") Instant revokedBefore,
+            @Param("batchSize") int batchSize);
 }
@@ -2,23 +2,48 @@ package com.recruitai.api.repository;
 
 import com.recruitai.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
+// Lookups compare lower(column) so Postgres can use the idx_users_*_lower
+// expression indexes (derived IgnoreCase queries emit upper() and cannot).
+// Read-only by default so lookups outside a write transaction (the JWT filter,
+// login) can be served by a read replica; save() keeps its own read-write one.
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByUsernameIgnoreCase(String username);
+    @Query("select u from User u where lower(u.username) = lower(:username)")
+    Optional<User> findByUsernameIgnoreCase(@Param("username") String username);
 
-    Optional<User> findByEmailIgnoreCase(String email);
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+
+    // Single round trip for either identifier; key must already be lower-cased
+    @Query("select u from User u where lower(u.username) = :key or lower(u.email) = :key")
+    List<User> findAllByLowerUsernameOrLowerEmail(@Param("key") String key);
 
     default Optional<User> findByUsernameOrEmailIgnoreCase(String usernameOrEmail) {
-        Optional<User> byUsername = findByUsernameIgnoreCase(usernameOrEmail);
-        if (byUsername.isPresent())
-            return byUsername;
-        return findByEmailIgnoreCase(usernameOrEmail);
+        if (usernameOrEmail == null)
+            return Optional.empty();
+        String key = usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+        List<User> matches = findAllByLowerUsernameOrLowerEmail(key);
+        if (matches.size() <= 1)
+            return matches.stream().findFirst();
+        // A username match wins over an email match, as in the old two-query order
+        return matches.stream()
+                .filter(u -> key.equals(u.getUsername().toLowerCase(Locale.ROOT)))
+                .findFirst()
+                .or(() -> matches.stream().findFirst());
     }
 
-    boolean existsByUsernameIgnoreCase(String username);
+    @Query("select count(u) > 0 from User u where lower(u.username) = lower(:username)")
+    boolean existsByUsernameIgnoreCase(@Param("username") String username);
 
-    boolean existsByEmailIgnoreCase(String email);
+    @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
+    boolean existsByEmailIgnoreCase(@Param("email") String email);
 }
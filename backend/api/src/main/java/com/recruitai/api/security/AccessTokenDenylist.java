@@ -0,0 +1,152 @@
+package com.recruitai.api.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revoked access-token ids ({@code jti}) until the tokens expire on their own.
+ *
+ * A Bloom filter sits in front of an exact jti -> expiry map: almost every
+ * request is for a live token and is answered by a few bit reads with no
+ * locking; only filter hits (revoked tokens and rare false positives) touch
+ * the map. Expired entries are swept, and the filter rebuilt, by
+ * {@link #sweep()} on the scheduler thread, so a request never waits for it.
+ *
+ * Per process: other nodes keep accepting a revoked token until its exp,
+ * which the short access-token TTL bounds.
+ */
+public class AccessTokenDenylist implements MeterBinder {
+
+    private static final int HASHES = 7;
+    private static final int BITS_PER_ENTRY = 10; // ~1% false positives at capacity with 7 hashes
+
+    private final int expectedEntries;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile Bloom bloom;
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public AccessTokenDenylist(int expectedEntries) {
+        this(expectedEntries, Clock.systemUTC());
+    }
+
+    AccessTokenDenylist(int expectedEntries, Clock clock) {
+        this.expectedEntries = Math.max(1, expectedEntries);
+        this.clock = clock;
+        this.bloom = new Bloom(this.expectedEntries);
+    }
+
+    /** Denies {@code jti} until {@code expiresAt}; no-op for tokens already expired. */
+    public synchronized void revoke(String jti, Instant expiresAt) {
+        long exp = expiresAt.toEpochMilli();
+        if (jti == null || exp <= clock.millis())
+            return;
+        // Map first, then bits: a reader that sees the bit always finds the entry
+        revoked.merge(jti, exp, Math::max);
+        bloom.add(jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null)
+            return false;
+        if (!bloom.mightContain(jti))
+            return false;
+        // Expired but not swept yet: the token is refused for its exp anyway
+        Long exp = revoked.get(jti);
+        if (exp == null || exp <= clock.millis()) {
+            falsePositives.increment();
+            return false;
+        }
+        denied.increment();
+        return true;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.jwt.denylist.size", this, AccessTokenDenylist::size).register(registry);
+        FunctionCounter.builder("auth.jwt.denylist.denied", denied, LongAdder::sum)
+                .description("Requests refused because their access token was revoked")
+                .register(registry);
+        FunctionCounter.builder("auth.jwt.denylist.false_positives", falsePositives, LongAdder::sum)
+                .description("Bloom filter hits that the exact set did not confirm")
+                .register(registry);
+    }
+
+    /**
+     * Bloom filters cannot delete, so drops expired ids and rebuilds the filter
+     * from what is left. Runs on the scheduler thread, O(revoked ids), under
+     * the revoke lock so no revocation is lost in the swap; isRevoked keeps
+     * reading the old filter meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${app.security.jwt.denylist.sweep-interval-seconds:60}",
+            initialDelayString = "${app.security.jwt.denylist.sweep-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public synchronized void sweep() {
+        long now = clock.millis();
+        revoked.values().removeIf(exp -> exp <= now);
+        Bloom fresh = new Bloom(Math.max(expectedEntries, revoked.size() * 2));
+        revoked.keySet().forEach(fresh::add);
+        bloom = fresh;
+    }
+
+    private static final class Bloom {
+        private final AtomicLongArray words;
+        private final int bits;
+
+        Bloom(int entries) {
+            int words = (int) Math.min(Integer.MAX_VALUE / 64, ((long) entries * BITS_PER_ENTRY + 63) / 64);
+            this.words = new AtomicLongArray(words);
+            this.bits = words * 64;
+        }
+
+        void add(String key) {
+            long h = hash(key);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                words.getAndAccumulate(bit >>> 6, 1L << bit, (a, b) -> a | b);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h = hash(key);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0)
+                    return false;
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a with a final avalanche; split into two 32-bit hashes
+        // for double hashing (Kirsch-Mitzenmacher)
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
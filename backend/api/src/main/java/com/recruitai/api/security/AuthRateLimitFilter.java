@@ -0,0 +1,211 @@
+package com.recruitai.api.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Throttles POST /api/auth/** before any hashing or query work happens:
+ * every call is limited per client IP, and logins additionally per
+ * submitted usernameOrEmail so a distributed stuffing run against one
+ * account is capped too. Over-limit requests get 429 with Retry-After.
+ *
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy,
+ * set server.forward-headers-strategy so it reflects X-Forwarded-For.
+ *
+ * A login body is read here to find the account, and at most MAX_BODY_BYTES
+ * of it: a longer one is answered 413 without reading the rest.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final int MAX_BODY_BYTES = 4096;
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte[] REJECTED_BODY = "{\"message\":\"Too many requests\",\"code\":\"RATE_LIMITED\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOO_LARGE_BODY = "{\"message\":\"Request body too large\",\"code\":\"PAYLOAD_TOO_LARGE\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final TokenBucketRateLimiter perIp;
+    private final TokenBucketRateLimiter perAccount;
+    private final Counter rejectedIp;
+    private final Counter rejectedAccount;
+
+    public AuthRateLimitFilter(TokenBucketRateLimiter perIp, TokenBucketRateLimiter perAccount, MeterRegistry meters) {
+        this.perIp = perIp;
+        this.perAccount = perAccount;
+        this.rejectedIp = Counter.builder("auth.rate_limit.rejected").tag("key", "ip").register(meters);
+        this.rejectedAccount = Counter.builder("auth.rate_limit.rejected").tag("key", "account").register(meters);
+        Gauge.builder("auth.rate_limit.keys", perIp, TokenBucketRateLimiter::size).tag("key", "ip").register(meters);
+        Gauge.builder("auth.rate_limit.keys", perAccount, TokenBucketRateLimiter::size).tag("key", "account")
+                .register(meters);
+    }
+
+    // Forgets refilled buckets on the scheduler thread, so requests never scan the maps
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.sweep-interval-ms:5000}")
+    public void sweep() {
+        perIp.sweep();
+        perAccount.sweep();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        return !"POST".equals(req.getMethod()) || !req.getRequestURI().startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        long wait = perIp.tryAcquire(req.getRemoteAddr());
+        if (wait > 0) {
+            rejectedIp.increment();
+            reject(res, wait);
+            return;
+        }
+
+        if (LOGIN_PATH.equals(req.getRequestURI())) {
+            // A real login (256-char name, 100-char password) is far below the cap
+            if (req.getContentLengthLong() > MAX_BODY_BYTES) {
+                tooLarge(res);
+                return;
+            }
+            byte[] body = req.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                // Chunked, no Content-Length
+                tooLarge(res);
+                return;
+            }
+            String account = usernameOrEmail(body);
+            if (account != null) {
+                wait = perAccount.tryAcquire(account);
+                if (wait > 0) {
+                    rejectedAccount.increment();
+                    reject(res, wait);
+                    return;
+                }
+            }
+            // Body was consumed; hand the controller a replayable copy
+            req = new CachedBodyRequest(req, body);
+        }
+
+        chain.doFilter(req, res);
+    }
+
+    private static void reject(HttpServletResponse res, long waitNanos) throws IOException {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        res.setStatus(429);
+        res.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        res.setContentType("application/json");
+        res.setContentLength(REJECTED_BODY.length);
+        res.getOutputStream().write(REJECTED_BODY);
+    }
+
+    private static void tooLarge(HttpServletResponse res) throws IOException {
+        res.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        res.setContentType("application/json");
+        res.setContentLength(TOO_LARGE_BODY.length);
+        res.getOutputStream().write(TOO_LARGE_BODY);
+    }
+
+    // Streams only until the top-level usernameOrEmail field; malformed JSON is
+    // left for the controller to reject.
+    static String usernameOrEmail(byte[] body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT)
+                return null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("usernameOrEmail".equals(name))
+                    return value == JsonToken.VALUE_STRING ? p.getText().trim().toLowerCase(Locale.ROOT) : null;
+                p.skipChildren();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest req, byte[] body) {
+            super(req);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory: it is available, then read
+                    try {
+                        if (!isFinished())
+                            listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (Throwable t) {
+                        listener.onError(t);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.recruitai.api.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt strength whose verify time on this machine stays
+ * within a target latency. Each strength step doubles the work, so the
+ * search stops as soon as the next step would overshoot.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE = "calibration-Password-123";
+    private static final int SAMPLES_PER_STRENGTH = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        int strength = Math.max(4, minStrength);
+        int upper = Math.min(31, Math.max(strength, maxStrength));
+        long nanos = measureVerifyNanos(strength);
+        long targetNanos = targetMillis * 1_000_000L;
+        while (strength < upper && nanos * 2 <= targetNanos) {
+            strength++;
+            nanos = measureVerifyNanos(strength);
+        }
+        return strength;
+    }
+
+    // Best of a few runs: we want the CPU cost, not scheduler noise at startup
+    static long measureVerifyNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES_PER_STRENGTH; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
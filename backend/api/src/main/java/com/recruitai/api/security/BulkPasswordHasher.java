@@ -0,0 +1,71 @@
+package com.recruitai.api.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes a batch of passwords across all cores for bulk imports. It has its
+ * own pool, separate from {@link PasswordHashingExecutor}, so an import can
+ * saturate the CPU without queueing ahead of interactive logins (which then
+ * only compete for cores, not for a place in the login queue).
+ */
+public class BulkPasswordHasher {
+
+    private final PasswordEncoder encoder;
+    private final int threads;
+    private final ExecutorService pool;
+
+    public BulkPasswordHasher(PasswordEncoder encoder, int threads) {
+        this.encoder = encoder;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.threads, r -> {
+            Thread t = new Thread(r, "bulk-hash-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    /** Encodes every password, preserving order. Blocks until all are done. */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int n = rawPasswords.size();
+        String[] out = new String[n];
+        // One contiguous slice per thread: no per-password task overhead
+        int slices = Math.min(threads, n);
+        List<Callable<Void>> tasks = new ArrayList<>(slices);
+        for (int s = 0; s < slices; s++) {
+            int from = (int) ((long) n * s / slices);
+            int to = (int) ((long) n * (s + 1) / slices);
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    out[i] = encoder.encode(rawPasswords.get(i));
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return List.of(out);
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
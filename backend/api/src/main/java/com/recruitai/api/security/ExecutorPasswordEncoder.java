@@ -0,0 +1,34 @@
+package com.recruitai.api.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs a delegate {@link PasswordEncoder} on a {@link PasswordHashingExecutor}
+ * so both signup (encode) and DaoAuthenticationProvider (matches) leave the
+ * request thread free of BCrypt work.
+ */
+public class ExecutorPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public ExecutorPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
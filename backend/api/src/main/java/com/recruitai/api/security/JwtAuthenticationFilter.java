@@ -1,8 +1,13 @@
 package com.recruitai.api.security;
 
+import com.recruitai.api.common.ReadReplicaRouter;
 import com.recruitai.api.model.User;
 import com.recruitai.api.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,15 +19,85 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Where the authenticated principal comes from.
+     * DATABASE: load the user row (optionally through {@link UserSnapshotCache}).
+     * CLAIMS: build the principal from signed token claims, no database hit.
+     */
+    public enum PrincipalSource {
+        DATABASE, CLAIMS
+    }
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLE = "role";
+
     private final JwtService jwt;
     private final UserRepository users;
+    private final UserSnapshotCache cache;
+    private final PrincipalSource source;
+    // null = no revocation check
+    private final AccessTokenDenylist denylist;
+
+    // Meters are resolved once here, not per request
+    private final Timer parseTimer;
+    private final Timer lookupClaims;
+    private final Timer lookupCache;
+    private final Timer lookupDatabase;
+    private final Counter authenticated;
+    private final Counter userNotFound;
+    private final Counter invalidToken;
+    private final Counter revokedToken;
 
     public JwtAuthenticationFilter(JwtService jwt, UserRepository users) {
+        this(jwt, users, new UserSnapshotCache(false, 0, 0), PrincipalSource.DATABASE);
+    }
+
+    public JwtAuthenticationFilter(JwtService jwt, UserRepository users, UserSnapshotCache cache,
+            PrincipalSource source) {
+        this(jwt, users, cache, source, Metrics.globalRegistry);
+    }
+
+    public JwtAuthenticationFilter(JwtService jwt, UserRepository users, UserSnapshotCache cache,
+            PrincipalSource source, MeterRegistry meters) {
+        this(jwt, users, cache, source, null, meters);
+    }
+
+    public JwtAuthenticationFilter(JwtService jwt, UserRepository users, UserSnapshotCache cache,
+            PrincipalSource source, AccessTokenDenylist denylist, MeterRegistry meters) {
         this.jwt = jwt;
+        this.denylist = denylist;
         this.users = users;
+        this.cache = cache;
+        this.source = source == null ? PrincipalSource.DATABASE : source;
+        this.parseTimer = Timer.builder("auth.filter.token.parse")
+                .description("Access token verification and claim parsing")
+                .publishPercentileHistogram()
+                .register(meters);
+        this.lookupClaims = lookupTimer(meters, "claims");
+        this.lookupCache = lookupTimer(meters, "cache");
+        this.lookupDatabase = lookupTimer(meters, "database");
+        this.authenticated = outcome(meters, "authenticated");
+        this.userNotFound = outcome(meters, "user_not_found");
+        this.invalidToken = outcome(meters, "invalid_token");
+        this.revokedToken = outcome(meters, "revoked_token");
+    }
+
+    private static Timer lookupTimer(MeterRegistry meters, String via) {
+        return Timer.builder("auth.filter.user.lookup")
+                .description("Principal resolution after the token is verified")
+                .tag("source", via)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    private static Counter outcome(MeterRegistry meters, String outcome) {
+        return Counter.builder("auth.filter.requests").tag("outcome", outcome).register(meters);
     }
 
     @Override
@@ -33,12 +108,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
+                long start = System.nanoTime();
                 Claims claims = jwt.parseAndValidate(token);
-                String username = claims.getSubject();
-                Optional<User> userOpt = users.findByUsernameIgnoreCase(username);
-                if (userOpt.isEmpty()) {
-                    userOpt = users.findByEmailIgnoreCase(username);
+                parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (denylist != null && denylist.isRevoked(claims.getId())) {
+                    revokedToken.increment();
+                    SecurityContextHolder.clearContext();
+                    chain.doFilter(req, res);
+                    return;
                 }
+                Optional<User> userOpt = resolveUser(claims);
+                (userOpt.isPresent() ? authenticated : userNotFound).increment();
                 if (userOpt.isPresent()) {
                     User user = userOpt.get();
                     UserPrincipal principal = new UserPrincipal(user);
@@ -47,6 +127,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             } catch (Exception ex) {
+                invalidToken.increment();
                 // Invalid token; clear context and continue chain (will be handled by entry
                 // point if required endpoint)
                 SecurityContextHolder.clearContext();
@@ -55,4 +136,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         chain.doFilter(req, res);
     }
+
+    private Optional<User> resolveUser(Claims claims) {
+        long start = System.nanoTime();
+        if (source == PrincipalSource.CLAIMS) {
+            User fromClaims = fromClaims(claims);
+            // Tokens minted before the uid claim existed fall back to the database path
+            if (fromClaims != null) {
+                lookupClaims.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.of(fromClaims);
+            }
+        }
+        String username = claims.getSubject();
+        User cached = cache.get(username);
+        if (cached != null) {
+            lookupCache.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached);
+        }
+
+        // A replica may not have the row of a user who signed up moments ago
+        Optional<User> userOpt = ReadReplicaRouter
+                .findWithPrimaryFallback(() -> users.findByUsernameOrEmailIgnoreCase(username));
+        userOpt.ifPresent(cache::put);
+        lookupDatabase.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return userOpt;
+    }
+
+    private static User fromClaims(Claims claims) {
+        String uid = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (uid == null || role == null || claims.getSubject() == null)
+            return null;
+        // No password hash: a claims-built principal can never be used to re-authenticate
+        User u = new User(claims.getSubject(), claims.get(CLAIM_EMAIL, String.class), null, User.Role.valueOf(role));
+        u.setId(UUID.fromString(uid));
+        return u;
+    }
 }
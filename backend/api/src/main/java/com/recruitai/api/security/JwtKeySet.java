@@ -0,0 +1,181 @@
+package com.recruitai.api.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signing key plus every key a token may still be verified with, indexed by
+ * {@code kid}. Asymmetric sets sign with the active private key and publish
+ * all public keys (current and previous) as a JWKS, so other services can
+ * verify access tokens without the API's secret and without calling back.
+ *
+ * Rotation: drop the new {@code <kid>.key.pem}/{@code <kid>.pub.pem} pair into
+ * the key directory on every node, switch {@code active-kid}, and remove the
+ * old public key once its last token has expired.
+ */
+public final class JwtKeySet {
+
+    public enum Algorithm {
+        /** Shared secret, no kid; the pre-JWKS behaviour. */
+        HMAC,
+        RS256,
+        EdDSA
+    }
+
+    private static final String PRIVATE_SUFFIX = ".key.pem";
+    private static final String PUBLIC_SUFFIX = ".pub.pem";
+
+    private final Algorithm algorithm;
+    private final String activeKid;
+    private final Key signingKey;
+    // Immutable: the per-request kid lookup is a plain map read
+    private final Map<String, PublicKey> verificationKeys;
+    // Accepts kid-less HMAC tokens issued before a switch to asymmetric keys; null = reject
+    private final SecretKey legacyHmacKey;
+
+    private JwtKeySet(Algorithm algorithm, String activeKid, Key signingKey,
+            Map<String, PublicKey> verificationKeys, SecretKey legacyHmacKey) {
+        this.algorithm = algorithm;
+        this.activeKid = activeKid;
+        this.signingKey = signingKey;
+        this.verificationKeys = Map.copyOf(verificationKeys);
+        this.legacyHmacKey = legacyHmacKey;
+    }
+
+    public static JwtKeySet hmac(String secret) {
+        SecretKey key = hmacKey(secret);
+        return new JwtKeySet(Algorithm.HMAC, null, key, Map.of(), key);
+    }
+
+    /**
+     * Loads {@code <kid>.pub.pem} (X.509) for every verification key and
+     * {@code <activeKid>.key.pem} (PKCS#8) for signing.
+     */
+    public static JwtKeySet fromDirectory(Algorithm algorithm, Path dir, String activeKid, String legacySecret) {
+        requireAsymmetric(algorithm);
+        if (activeKid == null || activeKid.isBlank())
+            throw new IllegalArgumentException("app.security.jwt.active-kid is required with a key directory");
+        try {
+            KeyFactory kf = keyFactory(algorithm);
+            Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + PUBLIC_SUFFIX)) {
+                for (Path f : files) {
+                    String name = f.getFileName().toString();
+                    String kid = name.substring(0, name.length() - PUBLIC_SUFFIX.length());
+                    publicKeys.put(kid, kf.generatePublic(new X509EncodedKeySpec(pem(f))));
+                }
+            }
+            if (!publicKeys.containsKey(activeKid))
+                throw new IllegalArgumentException("No " + activeKid + PUBLIC_SUFFIX + " in " + dir);
+            PrivateKey signing = kf.generatePrivate(new PKCS8EncodedKeySpec(pem(dir.resolve(activeKid + PRIVATE_SUFFIX))));
+            return new JwtKeySet(algorithm, activeKid, signing, publicKeys, legacyKey(legacySecret));
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load JWT keys from " + dir, e);
+        }
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /** kid written into new tokens, or null for {@link Algorithm#HMAC}. */
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    /** Adds the kid header (asymmetric sets) and signs with the active key. */
+    JwtBuilder sign(JwtBuilder builder) {
+        return switch (algorithm) {
+            // Strength picked from the key length, as before key sets existed
+            case HMAC -> builder.signWith(signingKey);
+            case RS256 -> builder.header().keyId(activeKid).and().signWith((PrivateKey) signingKey, Jwts.SIG.RS256);
+            case EdDSA -> builder.header().keyId(activeKid).and().signWith((PrivateKey) signingKey, Jwts.SIG.EdDSA);
+        };
+    }
+
+    /** Resolves the verification key from the token's kid header. */
+    LocatorAdapter<Key> locator() {
+        return new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId();
+                if (kid == null) {
+                    String alg = header.getAlgorithm();
+                    if (legacyHmacKey != null && alg != null && alg.startsWith("HS"))
+                        return legacyHmacKey;
+                    throw new SignatureException("Token has no kid");
+                }
+                PublicKey key = verificationKeys.get(kid);
+                if (key == null)
+                    throw new SignatureException("Unknown kid " + kid);
+                return key;
+            }
+        };
+    }
+
+    /** Public JWKs for every verification key, active key first. */
+    public List<PublicJwk<?>> publicJwks() {
+        List<PublicJwk<?>> jwks = new ArrayList<>(verificationKeys.size());
+        String alg = algorithm == Algorithm.RS256 ? "RS256" : "EdDSA";
+        if (activeKid != null)
+            jwks.add(jwk(activeKid, verificationKeys.get(activeKid), alg));
+        verificationKeys.forEach((kid, key) -> {
+            if (!kid.equals(activeKid))
+                jwks.add(jwk(kid, key, alg));
+        });
+        return jwks;
+    }
+
+    private static PublicJwk<?> jwk(String kid, PublicKey key, String alg) {
+        return Jwks.builder().key(key).id(kid).algorithm(alg).publicKeyUse("sig").build();
+    }
+
+    private static void requireAsymmetric(Algorithm algorithm) {
+        if (algorithm == Algorithm.HMAC)
+            throw new IllegalArgumentException("HMAC keys come from app.security.jwt.secret");
+    }
+
+    private static KeyFactory keyFactory(Algorithm algorithm) throws GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm == Algorithm.RS256 ? "RSA" : "Ed25519");
+    }
+
+    private static byte[] pem(Path file) throws IOException {
+        String body = Files.readString(file, StandardCharsets.US_ASCII)
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private static SecretKey legacyKey(String secret) {
+        return secret == null || secret.isBlank() ? null : hmacKey(secret);
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,45 +1,162 @@
 package com.recruitai.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
-public class JwtService {
+public class JwtService implements MeterBinder {
 
-    private final SecretKey key;
+    private final JwtKeySet keys;
     private final String issuer;
     private final long accessTokenTtlMinutes;
+    // JwtParser is immutable and thread-safe; build it once
+    private final JwtParser parser;
+
+    // Tokens that already passed signature + claim validation, keyed by SHA-256
+    // of the compact token. Entries are only served until the token's exp.
+    private final int verifiedCacheMaxEntries;
+    private final ConcurrentHashMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
 
     public JwtService(String secret, String issuer, long accessTokenTtlMinutes) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this(secret, issuer, accessTokenTtlMinutes, 0);
+    }
+
+    public JwtService(String secret, String issuer, long accessTokenTtlMinutes, int verifiedCacheMaxEntries) {
+        this(JwtKeySet.hmac(secret), issuer, accessTokenTtlMinutes, verifiedCacheMaxEntries);
+    }
+
+    public JwtService(JwtKeySet keys, String issuer, long accessTokenTtlMinutes, int verifiedCacheMaxEntries) {
+        this.keys = keys;
         this.issuer = issuer;
         this.accessTokenTtlMinutes = accessTokenTtlMinutes;
+        // Verification key resolved per token from its kid header
+        this.parser = Jwts.parser().keyLocator(keys.locator()).build();
+        this.verifiedCacheMaxEntries = Math.max(0, verifiedCacheMaxEntries);
     }
 
     public String generateToken(String subject, Map<String, Object> claims) {
+        return generateToken(subject, null, claims);
+    }
+
+    /** @param jti token id ({@code jti} claim) that lets the token be revoked; null for none */
+    public String generateToken(String subject, String jti, Map<String, Object> claims) {
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(accessTokenTtlMinutes * 60);
-        return Jwts.builder()
-                .issuer(issuer)
-                .subject(subject)
-                .claims(claims)
-                .issuedAt(Date.from(now))
-                .expiration(Date.from(exp))
-                .signWith(key)
+        return keys.sign(Jwts.builder()
+                        .issuer(issuer)
+                        .subject(subject)
+                        .id(jti)
+                        .claims(claims)
+                        .issuedAt(Date.from(now))
+                        .expiration(Date.from(exp)))
                 .compact();
     }
 
     public Claims parseAndValidate(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (verifiedCacheMaxEntries == 0) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken hit = verified.get(digest);
+        if (hit != null) {
+            if (hit.expiresAtMillis > now) {
+                cacheHits.increment();
+                return hit.claims;
+            }
+            verified.remove(digest, hit);
+        }
+        cacheMisses.increment();
+        // Throws on bad signature / expiry exactly as before; only successes are cached
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date exp = claims.getExpiration();
+        if (exp != null) {
+            // One thread scans at a time; the others insert meanwhile, overshooting by at most their number
+            if (verified.size() >= verifiedCacheMaxEntries && evicting.compareAndSet(false, true)) {
+                try {
+                    evict(now);
+                } finally {
+                    evicting.set(false);
+                }
+            }
+            verified.put(digest, new VerifiedToken(claims, exp.getTime()));
+        }
+        return claims;
+    }
+
+    public long getAccessTokenTtlMinutes() {
+        return accessTokenTtlMinutes;
+    }
+
+    public JwtKeySet getKeys() {
+        return keys;
+    }
+
+    public long getVerifiedCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getVerifiedCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getVerifiedCacheSize() {
+        return verified.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.jwt.verified.cache", this, JwtService::getVerifiedCacheHits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.jwt.verified.cache", this, JwtService::getVerifiedCacheMisses)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("auth.jwt.verified.cache.size", this, JwtService::getVerifiedCacheSize)
+                .register(registry);
+    }
+
+    // Drops expired tokens, then arbitrary ones down to 90% of the limit, so the
+    // O(n) scan runs once per tenth of the limit of inserts, not on every miss
+    private void evict(long now) {
+        verified.values().removeIf(v -> v.expiresAtMillis <= now);
+        int target = verifiedCacheMaxEntries - Math.max(1, verifiedCacheMaxEntries / 10);
+        Iterator<String> it = verified.keySet().iterator();
+        while (verified.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] d = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(d);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
     }
 }
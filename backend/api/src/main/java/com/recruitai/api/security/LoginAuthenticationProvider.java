@@ -0,0 +1,54 @@
+package com.recruitai.api.security;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * DaoAuthenticationProvider whose login failures carry no stack trace. A
+ * credential-stuffing run fails almost every attempt, and Spring's own
+ * exceptions would capture the whole filter and proxy stack each time for a
+ * trace nobody reads: AuthService answers every failure with the same 401.
+ *
+ * Unknown accounts are therefore not re-wrapped in a BadCredentialsException
+ * (hideUserNotFoundExceptions): the caller already treats both cases alike,
+ * and the timing-attack dummy hash still runs for them.
+ */
+class LoginAuthenticationProvider extends DaoAuthenticationProvider {
+
+    LoginAuthenticationProvider() {
+        setHideUserNotFoundExceptions(false);
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails user, UsernamePasswordAuthenticationToken auth) {
+        Object presented = auth.getCredentials();
+        if (presented == null || !getPasswordEncoder().matches(presented.toString(), user.getPassword()))
+            throw new WrongPasswordException();
+    }
+
+    /** Thrown by the UserDetailsService for an unknown username or email. */
+    static final class UnknownAccountException extends UsernameNotFoundException {
+        UnknownAccountException() {
+            super("User not found");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    static final class WrongPasswordException extends BadCredentialsException {
+        WrongPasswordException() {
+            super("Bad credentials");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.recruitai.api.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated, bounded pool for BCrypt work so a login burst cannot occupy
+ * every servlet thread. Submissions beyond the queue capacity, or that wait
+ * longer than {@code maxWaitMillis}, fail fast with
+ * {@link PasswordHashingRejectedException}.
+ */
+public class PasswordHashingExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor pool;
+    private final long maxWaitMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    // Set once metrics are bound; null until then (e.g. in benchmarks)
+    private volatile Timer waitTimer;
+    private volatile Timer hashTimer;
+
+    public PasswordHashingExecutor(int threads, int queueCapacity, long maxWaitMillis) {
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "pwd-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public <T> T execute(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long started = System.nanoTime();
+                long waited = started - submitted;
+                totalWaitNanos.add(waited);
+                try {
+                    return task.call();
+                } finally {
+                    long hashed = System.nanoTime() - started;
+                    totalHashNanos.add(hashed);
+                    completed.increment();
+                    Timer w = waitTimer;
+                    Timer h = hashTimer;
+                    if (w != null) {
+                        w.record(waited, TimeUnit.NANOSECONDS);
+                        h.record(hashed, TimeUnit.NANOSECONDS);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingRejectedException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    public long getTotalHashNanos() {
+        return totalHashNanos.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.password.hashing.queue.depth", this, PasswordHashingExecutor::getQueueDepth)
+                .description("Password hashing tasks waiting for a thread")
+                .register(registry);
+        Gauge.builder("auth.password.hashing.active", this, PasswordHashingExecutor::getActiveCount)
+                .register(registry);
+        FunctionCounter.builder("auth.password.hashing.rejected", this, PasswordHashingExecutor::getRejectedCount)
+                .description("Hashing requests refused because the pool was saturated")
+                .register(registry);
+        hashTimer = Timer.builder("auth.password.hashing.hash")
+                .description("BCrypt encode/verify time on the hashing pool")
+                .publishPercentileHistogram()
+                .register(registry);
+        waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Time spent queued before a hashing thread picked the task up")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.recruitai.api.security;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** Thrown when the password-hashing pool is saturated; mapped to 503. */
+public class PasswordHashingRejectedException extends ApiException {
+
+    public PasswordHashingRejectedException() {
+        super(ApiError.SERVICE_BUSY);
+    }
+}
@@ -1,16 +1,22 @@
 package com.recruitai.api.security;
 
+import com.recruitai.api.common.ReadReplicaRouter;
 import com.recruitai.api.model.User;
 import com.recruitai.api.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,18 +24,24 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.*;
+import org.springframework.web.filter.CorsFilter;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Value("${app.security.jwt.secret}")
     private String jwtSecret;
 
@@ -39,44 +51,208 @@ public class SecurityConfig {
     @Value("${app.security.jwt.access-token-ttl-minutes}")
     private long accessTtlMin;
 
+    @Value("${app.security.jwt.algorithm:HMAC}")
+    private JwtKeySet.Algorithm jwtAlgorithm;
+
+    @Value("${app.security.jwt.key-dir:}")
+    private String jwtKeyDir;
+
+    @Value("${app.security.jwt.active-kid:}")
+    private String jwtActiveKid;
+
+    @Value("${app.security.jwt.accept-legacy-hmac:false}")
+    private boolean jwtAcceptLegacyHmac;
+
+    @Value("${app.security.jwt.verified-cache-max-entries:10000}")
+    private int verifiedTokenCacheMaxEntries;
+
+    @Value("${app.security.jwt.principal-source:database}")
+    private JwtAuthenticationFilter.PrincipalSource principalSource;
+
+    @Value("${app.security.user-cache.enabled:false}")
+    private boolean userCacheEnabled;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private int userCacheMaxSize;
+
+    @Value("${app.security.user-cache.ttl-seconds:60}")
+    private long userCacheTtlSeconds;
+
+    @Value("${app.security.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.security.password-hashing.max-wait-ms:2000}")
+    private long hashingMaxWaitMs;
+
+    // 0 = calibrate at startup to the target verify latency
+    @Value("${app.security.password-hashing.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password-hashing.bcrypt.target-verify-ms:100}")
+    private long bcryptTargetVerifyMs;
+
+    @Value("${app.security.password-hashing.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${app.security.password-hashing.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${app.security.user-import.hashing-threads:0}")
+    private int importHashingThreads;
+
+    // 0 = same as logins; lower values are upgraded by the rehash-on-login path
+    @Value("${app.security.user-import.bcrypt-strength:0}")
+    private int importBcryptStrength;
+
+    @Value("${app.security.jwt.denylist.expected-entries:10000}")
+    private int denylistExpectedEntries;
+
+    @Value("${app.security.rate-limit.ip.capacity:20}")
+    private int rateLimitIpCapacity;
+
+    @Value("${app.security.rate-limit.ip.refill-per-minute:60}")
+    private int rateLimitIpRefillPerMinute;
+
+    @Value("${app.security.rate-limit.account.capacity:5}")
+    private int rateLimitAccountCapacity;
+
+    @Value("${app.security.rate-limit.account.refill-per-minute:10}")
+    private int rateLimitAccountRefillPerMinute;
+
+    @Value("${app.security.rate-limit.max-keys:100000}")
+    private int rateLimitMaxKeys;
+
+    // Calibrated once by bcryptStrength(), shared by the login and import encoders
+    private int resolvedBcryptStrength;
+
+    @Bean
+    public PasswordHashingExecutor passwordHashingExecutor() {
+        return new PasswordHashingExecutor(hashingThreads, hashingQueueCapacity, hashingMaxWaitMs);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor) {
+        int strength = bcryptStrength();
+        // New hashes are stored as {bcrypt}...; legacy un-prefixed hashes still verify
+        // and report upgradeEncoding() so they are rehashed on the next login.
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return new ExecutorPasswordEncoder(delegating, hashingExecutor);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public BulkPasswordHasher bulkPasswordHasher() {
+        int strength = importBcryptStrength > 0 ? importBcryptStrength : bcryptStrength();
+        // Same {bcrypt} format as signup, so imported users log in through the normal path
+        PasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        return new BulkPasswordHasher(encoder, importHashingThreads);
+    }
+
+    private synchronized int bcryptStrength() {
+        if (resolvedBcryptStrength == 0) {
+            resolvedBcryptStrength = bcryptStrength > 0 ? bcryptStrength
+                    : BCryptCostCalibrator.calibrate(bcryptTargetVerifyMs, bcryptMinStrength, bcryptMaxStrength);
+            log.info("BCrypt strength {} (target verify {} ms)", resolvedBcryptStrength, bcryptTargetVerifyMs);
+        }
+        return resolvedBcryptStrength;
+    }
+
+    // Invoked by DaoAuthenticationProvider after a successful login whose stored
+    // hash needs upgrading (missing prefix or lower strength than configured).
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public UserDetailsPasswordService userDetailsPasswordService(UserRepository users, UserSnapshotCache userCache) {
+        return (details, newEncodedPassword) -> {
+            User u = ((UserDetailsAdapter) details).getDomainUser();
+            u.setPasswordHash(newEncodedPassword);
+            users.save(u);
+            userCache.invalidate(u);
+            return new UserDetailsAdapter(u);
+        };
     }
 
     @Bean
     public UserDetailsService userDetailsService(UserRepository users) {
-        return usernameOrEmail -> users.findByUsernameOrEmailIgnoreCase(usernameOrEmail)
+        return usernameOrEmail -> ReadReplicaRouter
+                .findWithPrimaryFallback(() -> users.findByUsernameOrEmailIgnoreCase(usernameOrEmail))
                 .map(u -> new UserDetailsAdapter(u))
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+                .orElseThrow(LoginAuthenticationProvider.UnknownAccountException::new);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(UserDetailsService uds, PasswordEncoder encoder) {
-        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+    public AuthenticationManager authenticationManager(UserDetailsService uds, PasswordEncoder encoder,
+            UserDetailsPasswordService passwordUpgrader) {
+        LoginAuthenticationProvider provider = new LoginAuthenticationProvider();
         provider.setUserDetailsService(uds);
         provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(passwordUpgrader);
         return new ProviderManager(provider);
     }
 
     @Bean
     public JwtService jwtService() {
-        return new JwtService(jwtSecret, jwtIssuer, accessTtlMin);
+        return new JwtService(jwtKeySet(), jwtIssuer, accessTtlMin, verifiedTokenCacheMaxEntries);
+    }
+
+    private JwtKeySet jwtKeySet() {
+        if (jwtAlgorithm == JwtKeySet.Algorithm.HMAC)
+            return JwtKeySet.hmac(jwtSecret);
+        String legacySecret = jwtAcceptLegacyHmac ? jwtSecret : null;
+        // A per-process key would make every node reject the others' tokens and a restart
+        // invalidate them all, so there is no ephemeral fallback
+        if (jwtKeyDir.isBlank())
+            throw new IllegalStateException("app.security.jwt.algorithm=" + jwtAlgorithm
+                    + " needs app.security.jwt.key-dir (JWT_KEY_DIR); see docs/jwt-keys.md");
+        JwtKeySet keys = JwtKeySet.fromDirectory(jwtAlgorithm, Path.of(jwtKeyDir), jwtActiveKid, legacySecret);
+        log.info("JWT {} signing key {}, {} verification key(s) published", jwtAlgorithm, keys.getActiveKid(),
+                keys.publicJwks().size());
+        return keys;
+    }
+
+    @Bean
+    public AccessTokenDenylist accessTokenDenylist() {
+        // Swept by its own @Scheduled method (app.security.jwt.denylist.sweep-interval-seconds)
+        return new AccessTokenDenylist(denylistExpectedEntries);
+    }
+
+    @Bean
+    public UserSnapshotCache userSnapshotCache() {
+        return new UserSnapshotCache(userCacheEnabled, userCacheMaxSize, userCacheTtlSeconds);
+    }
+
+    @Bean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwt, UserRepository users,
+            UserSnapshotCache userCache, AccessTokenDenylist denylist, MeterRegistry meters) {
+        return new JwtAuthenticationFilter(jwt, users, userCache, principalSource, denylist, meters);
     }
 
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwt, UserRepository users) {
-        return new JwtAuthenticationFilter(jwt, users);
+    @ConditionalOnProperty(prefix = "app.security.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AuthRateLimitFilter authRateLimitFilter(MeterRegistry meters) {
+        return new AuthRateLimitFilter(
+                new TokenBucketRateLimiter(rateLimitIpCapacity, rateLimitIpRefillPerMinute, rateLimitMaxKeys),
+                new TokenBucketRateLimiter(rateLimitAccountCapacity, rateLimitAccountRefillPerMinute, rateLimitMaxKeys),
+                meters);
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter,
+            ObjectProvider<AuthRateLimitFilter> rateLimitFilter) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(Customizer.withDefaults())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatch that completes an already authorized streaming
+                        // response (screening SSE); the JWT filter does not run again
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .requestMatchers("/api/auth/logout-all").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .anyRequest().authenticated())
@@ -87,6 +263,8 @@ public class SecurityConfig {
                             res.getWriter().write("{\"message\":\"Unauthorized\"}");
                         }))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        // After CORS so 429s still carry CORS headers; before any auth work
+        rateLimitFilter.ifAvailable(f -> http.addFilterAfter(f, CorsFilter.class));
         return http.build();
     }
 
@@ -105,7 +283,7 @@ public class SecurityConfig {
         return source;
     }
 
-    static class UserDetailsAdapter implements UserDetails {
+    public static class UserDetailsAdapter implements UserDetails {
         private final User user;
 
         UserDetailsAdapter(User u) {
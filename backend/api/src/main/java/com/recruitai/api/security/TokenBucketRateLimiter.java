@@ -0,0 +1,101 @@
+package com.recruitai.api.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, implemented as GCRA (generic cell rate algorithm):
+ * each key holds one "theoretical arrival time" in an AtomicLong and a
+ * decision is a single CAS, so checks never block and a rejection costs
+ * a map lookup plus arithmetic.
+ *
+ * Memory is bounded by {@code maxKeys}. Only buckets that have fully
+ * refilled are ever forgotten, since forgetting them loses nothing, and that
+ * happens in {@link #sweep()}, off the request path. A key that is still
+ * draining is never dropped, so a flood of fresh keys (random usernames)
+ * cannot reset the limit of an account under attack. Once the map is full of
+ * draining buckets, new keys are let through untracked until a sweep frees
+ * room: refusing them would let a flood of random usernames lock every real
+ * account out. Requests are still held to the per-IP limit meanwhile.
+ */
+public class TokenBucketRateLimiter {
+
+    // Written into a bucket as it is removed, so a caller still holding it looks the key up again
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity        burst size (tokens available to an idle key)
+     * @param refillPerMinute sustained rate
+     * @param maxKeys         upper bound on tracked keys
+     */
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = 60_000_000_000L / Math.max(1, refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, capacity) - 1L);
+        this.maxKeys = Math.max(1, maxKeys);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 if allowed (always, for a new key while the map is full),
+     *         otherwise the nanos until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong tat = buckets.get(key);
+        while (true) {
+            if (tat == null) {
+                // Full: let the new key through untracked rather than drop one that is still draining
+                if (buckets.size() >= maxKeys)
+                    return 0;
+                tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            long current = tat.get();
+            if (current == RETIRED) {
+                // Swept just now: finish removing it and start over with a fresh bucket
+                buckets.remove(key, tat);
+                tat = buckets.get(key);
+                continue;
+            }
+            long base = Math.max(current, now);
+            long allowAt = base - burstToleranceNanos;
+            if (now < allowAt)
+                return allowAt - now;
+            if (tat.compareAndSet(current, base + emissionIntervalNanos))
+                return 0;
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Forgets every bucket that has fully refilled. Runs on a scheduler
+     * thread; O(tracked keys), but never on a request.
+     */
+    public void sweep() {
+        long now = nanoClock.getAsLong();
+        for (Map.Entry<String, AtomicLong> e : buckets.entrySet()) {
+            AtomicLong tat = e.getValue();
+            long current = tat.get();
+            // A bucket whose arrival time has passed is full again: forgetting it is lossless.
+            // The CAS fails if a request took a token meanwhile, and the bucket stays.
+            if (current != RETIRED && current <= now && tat.compareAndSet(current, RETIRED))
+                buckets.remove(e.getKey(), tat);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.recruitai.api.security;
+
+import com.recruitai.api.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-evicting cache of detached {@link User} snapshots keyed by
+ * lower-cased username. Used by {@link JwtAuthenticationFilter} to avoid a
+ * database round trip on every authenticated request.
+ *
+ * Callers that change a user's role or credentials must call
+ * {@link #invalidate(User)} so the next request reloads the row.
+ */
+public class UserSnapshotCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public UserSnapshotCache(boolean enabled, int maxSize, long ttlSeconds) {
+        this(enabled, maxSize, ttlSeconds, Clock.systemUTC());
+    }
+
+    UserSnapshotCache(boolean enabled, int maxSize, long ttlSeconds, Clock clock) {
+        this.enabled = enabled && maxSize > 0 && ttlSeconds > 0;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns a cached snapshot, or null when absent, expired or disabled. */
+    public User get(String username) {
+        if (!enabled || username == null)
+            return null;
+        String key = key(username);
+        Entry e = entries.get(key);
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        if (e.expiresAt <= clock.millis()) {
+            entries.remove(key, e);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e.user;
+    }
+
+    public void put(User user) {
+        if (!enabled || user == null || user.getUsername() == null)
+            return;
+        // One thread scans at a time; the others insert meanwhile, overshooting by at most their number
+        if (entries.size() >= maxSize && evicting.compareAndSet(false, true)) {
+            try {
+                evict();
+            } finally {
+                evicting.set(false);
+            }
+        }
+        entries.put(key(user.getUsername()), new Entry(snapshot(user), clock.millis() + ttlMillis));
+    }
+
+    public void invalidate(User user) {
+        if (user == null)
+            return;
+        if (user.getUsername() != null) {
+            entries.remove(key(user.getUsername()));
+        }
+        invalidateId(user.getId());
+    }
+
+    public void invalidateId(UUID userId) {
+        if (userId == null)
+            return;
+        entries.values().removeIf(e -> userId.equals(e.user.getId()));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.user.cache", hits, LongAdder::sum).tag("result", "hit").register(registry);
+        FunctionCounter.builder("auth.user.cache", misses, LongAdder::sum).tag("result", "miss").register(registry);
+        Gauge.builder("auth.user.cache.size", this, UserSnapshotCache::size).register(registry);
+    }
+
+    // Drop expired entries first; if still full, drop arbitrary entries down to
+    // 90% of maxSize. The O(n) scan then runs once per tenth of maxSize of
+    // inserts rather than on each one. Approximate, but keeps memory bounded.
+    private void evict() {
+        long now = clock.millis();
+        entries.values().removeIf(e -> e.expiresAt <= now);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    // Detached copy so callers can never mutate (or lazily load through) a
+    // shared managed entity.
+    static User snapshot(User u) {
+        User copy = new User(u.getUsername(), u.getEmail(), u.getPasswordHash(), u.getRole());
+        copy.setId(u.getId());
+        copy.setCreatedAt(u.getCreatedAt());
+        return copy;
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
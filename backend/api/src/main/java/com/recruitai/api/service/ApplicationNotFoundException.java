@@ -0,0 +1,12 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** Unknown application id, or one the caller may not see; mapped to 404. */
+public class ApplicationNotFoundException extends ApiException {
+
+    public ApplicationNotFoundException() {
+        super(ApiError.APPLICATION_NOT_FOUND);
+    }
+}
@@ -0,0 +1,111 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.dto.application.ApplicationCreated;
+import com.recruitai.api.model.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Job applications. The resume goes to {@link ResumeStore} before the row is
+ * written, and the row keeps only its URI; resume bytes never pass through
+ * the database or the heap as a whole. Search indexing is queued in the
+ * same transaction ({@link SearchOutbox}), so a slow search cluster does not
+ * slow submissions down.
+ */
+@Service
+public class ApplicationService {
+
+    private static final String JOB_EXISTS_SQL = "select exists(select 1 from jobs where id = ?)";
+    private static final String INSERT_SQL = "insert into applications (user_id, job_id, resume_uri) values (?, ?, ?) "
+            + "returning id, status";
+    private static final String RESUME_SQL = "select a.user_id, j.created_by, a.resume_uri, a.resume_blob is not null "
+            + "from applications a join jobs j on j.id = a.job_id where a.id = ?";
+    private static final String BLOB_SQL = "select resume_blob from applications where id = ?";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ResumeStore store;
+    private final SearchOutbox outbox;
+
+    public ApplicationService(JdbcTemplate jdbc, PlatformTransactionManager txManager, ResumeStore store,
+            SearchOutbox outbox) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.store = store;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Stores the resume and creates a SUBMITTED application for {@code userId}.
+     * Does not close {@code resume}.
+     *
+     * @throws JobNotFoundException if the job does not exist
+     */
+    public ApplicationCreated submit(UUID userId, UUID jobId, InputStream resume) throws IOException {
+        // Checked first so an unknown job does not leave an unreferenced file behind
+        if (!Boolean.TRUE.equals(jdbc.queryForObject(JOB_EXISTS_SQL, Boolean.class, jobId)))
+            throw new JobNotFoundException();
+        ResumeStore.StoredResume stored = store.store(resume);
+        return tx.execute(s -> {
+            ApplicationCreated created = jdbc.queryForObject(INSERT_SQL,
+                    (rs, i) -> new ApplicationCreated(rs.getObject(1, UUID.class), rs.getString(2)),
+                    userId, jobId, stored.uri());
+            outbox.enqueue(SearchOutbox.RESUMES, created.getApplicationId());
+            return created;
+        });
+    }
+
+    /**
+     * An application's resume: a store file, or for rows from before the store
+     * the inline bytes. Visible to the applicant, the recruiter who created
+     * the job, and admins.
+     *
+     * @throws ApplicationNotFoundException if there is no such application, the
+     *                                      caller may not see it, or its resume
+     *                                      is held elsewhere
+     */
+    public Resume resume(UUID applicationId, User requester) throws IOException {
+        ResumeRef ref = jdbc.query(RESUME_SQL, rs -> rs.next()
+                ? new ResumeRef(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), rs.getString(3),
+                        rs.getBoolean(4))
+                : null, applicationId);
+        // Someone else's application answers like a missing one, so ids cannot be probed
+        if (ref == null || !ref.visibleTo(requester))
+            throw new ApplicationNotFoundException();
+        if (ResumeStore.isStoreUri(ref.uri())) {
+            Path file = store.resolve(ref.uri());
+            try {
+                return new Resume(file, Files.size(file), null);
+            } catch (NoSuchFileException e) {
+                throw new ApplicationNotFoundException();
+            }
+        }
+        if (ref.inline()) {
+            byte[] blob = jdbc.queryForObject(BLOB_SQL, byte[].class, applicationId);
+            return new Resume(null, blob.length, blob);
+        }
+        throw new ApplicationNotFoundException();
+    }
+
+    /** Either {@code file} (store) or {@code bytes} (legacy resume_blob) is set. */
+    public record Resume(Path file, long size, byte[] bytes) {
+    }
+
+    private record ResumeRef(UUID userId, UUID jobCreatedBy, String uri, boolean inline) {
+
+        // Same rule as batch screening: recruiters only reach their own jobs' applicants
+        boolean visibleTo(User requester) {
+            return requester.getRole() == User.Role.ADMIN || requester.getId().equals(userId)
+                    || (requester.getRole() == User.Role.RECRUITER && requester.getId().equals(jobCreatedBy));
+        }
+    }
+}
@@ -5,25 +5,28 @@ import com.recruitai.api.dto.auth.SignupRequest;
 import com.recruitai.api.dto.auth.TokenResponse;
 import com.recruitai.api.model.RefreshToken;
 import com.recruitai.api.repository.RefreshTokenRepository;
+import com.recruitai.api.repository.RefreshTokenRepository.PairedAccessToken;
+import com.recruitai.api.security.AccessTokenDenylist;
+import com.recruitai.api.security.JwtAuthenticationFilter;
 import com.recruitai.api.security.JwtService;
+import com.recruitai.api.security.SecurityConfig.UserDetailsAdapter;
 import com.recruitai.api.model.User;
 import com.recruitai.api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -34,29 +37,36 @@ public class AuthService {
     private final PasswordEncoder encoder;
     private final JwtService jwt;
     private final AuthenticationManager authManager;
+    private final AccessTokenDenylist denylist;
 
     @Value("${app.security.jwt.refresh-token-ttl-days:7}")
     private long refreshTtlDays;
 
+    @Value("${app.security.jwt.refresh-reuse-grace-seconds:10}")
+    private long refreshReuseGraceSeconds;
+
     public AuthService(UserRepository users,
             RefreshTokenRepository refreshTokens,
             PasswordEncoder encoder,
             JwtService jwt,
-            AuthenticationManager authManager) {
+            AuthenticationManager authManager,
+            AccessTokenDenylist denylist) {
         this.users = users;
         this.refreshTokens = refreshTokens;
         this.encoder = encoder;
         this.jwt = jwt;
         this.authManager = authManager;
+        this.denylist = denylist;
     }
 
+    @Timed(value = "auth.service", extraTags = { "op", "signup" }, histogram = true)
     @Transactional
     public TokenResponse signup(SignupRequest req) {
         if (users.existsByUsernameIgnoreCase(req.getUsername())) {
-            throw new IllegalArgumentException("Username already exists");
+            throw DuplicateAccountException.username();
         }
         if (users.existsByEmailIgnoreCase(req.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
+            throw DuplicateAccountException.email();
         }
 
         User u = new User(req.getUsername(), req.getEmail(), encoder.encode(req.getPassword()), User.Role.CANDIDATE);
@@ -65,130 +75,148 @@ public class AuthService {
         return issueTokensFor(u, null);
     }
 
-    @Transactional
+    // No surrounding transaction: the credential check is a read-only lookup
+    // (a replica when configured) and the refresh-token insert commits on its own
+    @Timed(value = "auth.service", extraTags = { "op", "login" }, histogram = true)
     public TokenResponse login(LoginRequest req) {
         // Delegate to AuthenticationManager for password validation
-        authManager.authenticate(new UsernamePasswordAuthenticationToken(req.getUsernameOrEmail(), req.getPassword()));
-
-        // Load user by username or email
-        Optional<User> userOpt = users.findByUsernameOrEmailIgnoreCase(req.getUsernameOrEmail());
-        if (userOpt.isEmpty()) {
-            throw new IllegalArgumentException("Invalid credentials");
+        Authentication auth;
+        try {
+            auth = authManager
+                    .authenticate(new UsernamePasswordAuthenticationToken(req.getUsernameOrEmail(), req.getPassword()));
+        } catch (AuthenticationException e) {
+            // Unknown account or wrong password, both stackless (LoginAuthenticationProvider)
+            throw new InvalidCredentialsException();
         }
-        User u = userOpt.get();
 
-        return issueTokensFor(u, null);
+        // The user the credentials were checked against; no second lookup
+        UserDetailsAdapter details = (UserDetailsAdapter) auth.getPrincipal();
+        return issueTokensFor(details.getDomainUser(), null);
     }
 
-    @Transactional
+    @Timed(value = "auth.service", extraTags = { "op", "refresh" }, histogram = true)
+    // Commit on the typed failure: the family revocation below must survive the throw
+    @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
     public TokenResponse refresh(String providedRefreshToken) {
-        String hash = sha256B64(providedRefreshToken);
-        RefreshToken existing = refreshTokens.findByTokenHash(hash)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
-
-        if (existing.isRevoked() || existing.getExpiresAt().isBefore(Instant.now())) {
-            // Reuse/expired: revoke entire family for safety
-            revokeFamily(existing);
-            throw new IllegalArgumentException("Refresh token expired or revoked");
+        String hash = RefreshTokenCodec.sha256B64(providedRefreshToken);
+        UUID rotatedId = UUID.randomUUID();
+
+        // Claim first: the conditional update is the only check, so two concurrent
+        // refreshes of one token cannot both pass it.
+        if (refreshTokens.claimForRotation(hash, rotatedId, Instant.now()) == 0) {
+            RefreshToken existing = refreshTokens.findByTokenHash(hash)
+                    .orElseThrow(InvalidRefreshTokenException::unknown);
+            // The loser of a concurrent rotation (two tabs refreshing at once) only gets a
+            // 401: revoking the family would log the winner out as well
+            if (rotatedWithinGrace(existing))
+                throw InvalidRefreshTokenException.revoked();
+            // Reuse of a rotated or revoked token: revoke entire family for safety.
+            // A token that merely expired is refused without it.
+            if (existing.isRevoked())
+                revokeFamily(existing);
+            throw InvalidRefreshTokenException.revoked();
         }
 
-        // Rotate: revoke old and issue new within same family
-        existing.setRevoked(true);
-        RefreshToken rotated = createRefreshToken(existing.getUser(), existing.getFamilyId());
-        existing.setReplacedBy(rotated.getId());
-        refreshTokens.save(existing);
-        refreshTokens.save(rotated);
+        // Old token and its user in one query
+        RefreshToken existing = refreshTokens.findWithUserByTokenHash(hash)
+                .orElseThrow(InvalidRefreshTokenException::unknown);
+        User u = existing.getUser();
+
+        // Issue new token within same family
+        String jti = RefreshTokenCodec.randomId();
+        String access = generateAccess(u, jti);
+        IssuedRefreshToken rotated = createRefreshToken(u, existing.getFamilyId(), jti);
+        rotated.entity().setId(rotatedId);
+        refreshTokens.save(rotated.entity());
 
-        String access = generateAccess(existing.getUser());
-        return new TokenResponse(access, rawFromHash(rotated, providedRefreshToken),
-                existing.getUser().getRole().name());
+        return new TokenResponse(access, rotated.raw(), u.getRole().name());
     }
 
+    @Timed(value = "auth.service", extraTags = { "op", "logout" }, histogram = true)
     @Transactional
     public void logout(String providedRefreshToken) {
-        String hash = sha256B64(providedRefreshToken);
+        String hash = RefreshTokenCodec.sha256B64(providedRefreshToken);
         refreshTokens.findByTokenHash(hash).ifPresent(rt -> {
+            // Logging out an already revoked token must not extend its retention
+            if (!rt.isRevoked())
+                rt.setRevokedAt(Instant.now());
             rt.setRevoked(true);
             refreshTokens.save(rt);
+            // The access token handed out with this refresh token stops working now, not at exp
+            if (rt.getAccessJti() != null)
+                denylist.revoke(rt.getAccessJti(), accessExpiry(rt.getCreatedAt()));
         });
     }
 
+    // Revokes every refresh token the user holds ("log out everywhere")
+    @Timed(value = "auth.service", extraTags = { "op", "logoutAll" }, histogram = true)
+    @Transactional
+    public void logoutAll(UUID userId) {
+        refreshTokens.revokeAllForUser(userId, Instant.now());
+        denyAll(refreshTokens.findPairedAccessTokensByUser(userId, accessIssuedAfter()));
+    }
+
     // ----- helpers -----
 
     private TokenResponse issueTokensFor(User u, UUID familyId) {
-        String access = generateAccess(u);
-        RefreshToken rt = createRefreshToken(u, familyId);
-        refreshTokens.save(rt);
-        return new TokenResponse(access, rawFromHash(rt, null), u.getRole().name());
+        String jti = RefreshTokenCodec.randomId();
+        String access = generateAccess(u, jti);
+        IssuedRefreshToken rt = createRefreshToken(u, familyId, jti);
+        refreshTokens.save(rt.entity());
+        return new TokenResponse(access, rt.raw(), u.getRole().name());
     }
 
-    private String generateAccess(User u) {
+    private String generateAccess(User u, String jti) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", u.getRole().name());
+        claims.put(JwtAuthenticationFilter.CLAIM_ROLE, u.getRole().name());
+        // id/email let the filter build the principal without a DB hit (principal-source: claims)
+        claims.put(JwtAuthenticationFilter.CLAIM_USER_ID, u.getId().toString());
+        claims.put(JwtAuthenticationFilter.CLAIM_EMAIL, u.getEmail());
         // subject as username (frontend uses /users/me for details)
-        return jwt.generateToken(u.getUsername(), claims);
+        return jwt.generateToken(u.getUsername(), jti, claims);
     }
 
-    // Create a refresh token: return entity with only the hashed token persisted.
-    private RefreshToken createRefreshToken(User u, UUID familyId) {
-        String raw = randomToken();
-        String hash = sha256B64(raw);
-        Instant exp = Instant.now().plus(refreshTtlDays, ChronoUnit.DAYS);
-        RefreshToken rt = new RefreshToken(u, hash, exp, familyId);
-        // We need to return the plain token to client; we transiently keep raw via
-        // ThreadLocal or encode in response builder.
-        // For simplicity we stash the raw into a thread-local map keyed by entity id
-        // after save; here we set a hint in replacedBy (not persisted yet).
-        // Instead, we will reconstruct response using rawFromHash(...) which returns
-        // `raw` if provided, otherwise placeholder.
-        rawLastGenerated = raw;
-        return rt;
+    // Raw token (returned to the client once) paired with the entity that only
+    // stores its hash. Pure value: nothing about an issued token is shared
+    // between threads.
+    private record IssuedRefreshToken(String raw, RefreshToken entity) {
     }
 
-    // This is a simple holder for the last generated raw token in this thread (MVP
-    // only).
-    private static final ThreadLocal<String> lastRawToken = new ThreadLocal<>();
-    private static String rawLastGenerated;
-
-    private String rawFromHash(RefreshToken rt, String providedRawIfRefreshFlow) {
-        // If this is part of refresh flow, we already returned rotated token after
-        // generating in same thread.
-        String raw = rawLastGenerated;
-        if (providedRawIfRefreshFlow != null) {
-            // during refresh() we generated a new one right before, so rawLastGenerated
-            // holds it.
-        }
-        // Clear after read
-        lastRawToken.remove();
-        String out = raw;
-        rawLastGenerated = null;
-        // Safety: never return null
-        return out != null ? out : "REDACTED_TOKEN_CLIENT_SHOULD_RELOGIN";
+    // Created after the paired access token was signed, so createdAt + TTL is never before its exp
+    private IssuedRefreshToken createRefreshToken(User u, UUID familyId, String accessJti) {
+        String raw = RefreshTokenCodec.randomToken();
+        Instant exp = Instant.now().plus(refreshTtlDays, ChronoUnit.DAYS);
+        RefreshToken entity = new RefreshToken(u, RefreshTokenCodec.sha256B64(raw), exp, familyId);
+        entity.setAccessJti(accessJti);
+        return new IssuedRefreshToken(raw, entity);
     }
 
-    private static final SecureRandom RNG = new SecureRandom();
+    // Rotated moments ago: its successor (inserted with the claim) is younger than the grace
+    private boolean rotatedWithinGrace(RefreshToken rt) {
+        if (rt.getReplacedBy() == null || refreshReuseGraceSeconds <= 0)
+            return false;
+        Instant graceStart = Instant.now().minusSeconds(refreshReuseGraceSeconds);
+        return refreshTokens.findCreatedAtById(rt.getReplacedBy())
+                .map(graceStart::isBefore)
+                .orElse(false);
+    }
 
-    private String randomToken() {
-        byte[] buf = new byte[32];
-        RNG.nextBytes(buf);
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf);
+    private void revokeFamily(RefreshToken rt) {
+        refreshTokens.revokeFamily(rt.getFamilyId(), Instant.now());
+        denyAll(refreshTokens.findPairedAccessTokensByFamily(rt.getFamilyId(), accessIssuedAfter()));
     }
 
-    private String sha256B64(String raw) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(raw.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(digest);
-        } catch (Exception e) {
-            throw new IllegalStateException("Unable to hash token", e);
+    private void denyAll(List<PairedAccessToken> paired) {
+        for (PairedAccessToken p : paired) {
+            denylist.revoke(p.getAccessJti(), accessExpiry(p.getCreatedAt()));
         }
     }
 
-    private void revokeFamily(RefreshToken rt) {
-        refreshTokens.findAllByUserAndFamilyId(rt.getUser(), rt.getFamilyId())
-                .forEach(t -> {
-                    t.setRevoked(true);
-                    refreshTokens.save(t);
-                });
+    private Instant accessExpiry(Instant pairedCreatedAt) {
+        return pairedCreatedAt.plus(jwt.getAccessTokenTtlMinutes(), ChronoUnit.MINUTES);
+    }
+
+    private Instant accessIssuedAfter() {
+        return Instant.now().minus(jwt.getAccessTokenTtlMinutes(), ChronoUnit.MINUTES);
     }
 }
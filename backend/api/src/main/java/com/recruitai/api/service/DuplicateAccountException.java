@@ -0,0 +1,20 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** Signup with a username or email that is already registered; mapped to 409. */
+public class DuplicateAccountException extends ApiException {
+
+    private DuplicateAccountException(ApiError error) {
+        super(error);
+    }
+
+    public static DuplicateAccountException username() {
+        return new DuplicateAccountException(ApiError.USERNAME_TAKEN);
+    }
+
+    public static DuplicateAccountException email() {
+        return new DuplicateAccountException(ApiError.EMAIL_TAKEN);
+    }
+}
@@ -0,0 +1,128 @@
+package com.recruitai.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal client for the Elasticsearch _bulk API over the JDK HTTP client, so
+ * the api needs no Elasticsearch library. Any server that speaks _bulk will
+ * do, e.g. the loadtest module's BulkStubServer.
+ */
+final class ElasticBulkClient {
+
+    /** One bulk action: index {@code source}, or delete when it is null. */
+    record Action(String index, String id, byte[] source) {
+    }
+
+    enum Outcome {
+        /** Indexed, deleted, or deleted already (404 on delete) */
+        DONE,
+        /** 429 or 5xx for this item; send again later */
+        RETRY,
+        /** Any other item error (mapping conflict, malformed document); retrying will not help */
+        REJECTED
+    }
+
+    /** {@code status} is the item's HTTP status, 0 when it was never sent. */
+    record ItemResult(Outcome outcome, int status, String error) {
+    }
+
+    /** The whole request failed: HTTP status other than 200 (status 0: no response). */
+    static final class BulkRequestException extends IOException {
+        private final int status;
+
+        BulkRequestException(int status, String message, Throwable cause) {
+            super(message, cause);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+
+        /** The cluster asked us to slow down or send less (429, 413). */
+        boolean throttled() {
+            return status == 429 || status == 413;
+        }
+    }
+
+    private static final byte[] NEWLINE = { '\n' };
+
+    private final HttpClient http;
+    private final URI bulkUri;
+    private final String authorization;
+    private final Duration requestTimeout;
+    private final ObjectMapper json;
+
+    ElasticBulkClient(String baseUrl, String apiKey, Duration connectTimeout, Duration requestTimeout,
+            ObjectMapper json) {
+        this.http = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+        this.bulkUri = URI.create(baseUrl.replaceAll("/+$", "") + "/_bulk");
+        this.authorization = apiKey == null || apiKey.isBlank() ? null : "ApiKey " + apiKey;
+        this.requestTimeout = requestTimeout;
+        this.json = json;
+    }
+
+    /** The NDJSON body for {@code actions}. */
+    byte[] body(List<Action> actions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(actions.size() * 256);
+        for (Action a : actions) {
+            String op = a.source() == null ? "delete" : "index";
+            json.writeValue(out, Map.of(op, Map.of("_index", a.index(), "_id", a.id())));
+            out.write(NEWLINE);
+            if (a.source() != null) {
+                out.write(a.source());
+                out.write(NEWLINE);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /** Sends one _bulk request; the results are in {@code actions} order. */
+    List<ItemResult> send(List<Action> actions, byte[] body) throws IOException, InterruptedException {
+        HttpRequest.Builder req = HttpRequest.newBuilder(bulkUri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (authorization != null)
+            req.header("Authorization", authorization);
+        HttpResponse<byte[]> res;
+        try {
+            res = http.send(req.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            // Connect failure, reset, or the request timeout (HttpTimeoutException)
+            throw new BulkRequestException(0, e.toString(), e);
+        }
+        if (res.statusCode() != 200)
+            throw new BulkRequestException(res.statusCode(), "HTTP " + res.statusCode(), null);
+        JsonNode items = json.readTree(res.body()).path("items");
+        if (items.size() != actions.size())
+            throw new BulkRequestException(res.statusCode(),
+                    "Expected " + actions.size() + " bulk items, got " + items.size(), null);
+        List<ItemResult> results = new ArrayList<>(actions.size());
+        for (int i = 0; i < actions.size(); i++) {
+            // {"index": {...}} or {"delete": {...}}
+            JsonNode item = items.get(i).elements().next();
+            int status = item.path("status").asInt();
+            boolean delete = actions.get(i).source() == null;
+            if ((status >= 200 && status < 300) || (delete && status == 404))
+                results.add(new ItemResult(Outcome.DONE, status, null));
+            else
+                results.add(new ItemResult(status == 429 || status >= 500 ? Outcome.RETRY : Outcome.REJECTED, status,
+                        status + " " + item.path("error").path("type").asText("")
+                                + ": " + item.path("error").path("reason").asText("")));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,12 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** A second bulk import while one is running; mapped to 409. */
+public class ImportInProgressException extends ApiException {
+
+    public ImportInProgressException() {
+        super(ApiError.IMPORT_IN_PROGRESS);
+    }
+}
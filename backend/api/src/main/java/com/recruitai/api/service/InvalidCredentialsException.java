@@ -0,0 +1,12 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** Login with an unknown account or a wrong password; mapped to 401. */
+public class InvalidCredentialsException extends ApiException {
+
+    public InvalidCredentialsException() {
+        super(ApiError.INVALID_CREDENTIALS);
+    }
+}
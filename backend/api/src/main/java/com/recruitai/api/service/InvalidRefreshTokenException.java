@@ -0,0 +1,20 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** Unknown, expired, revoked or replayed refresh token; mapped to 401. */
+public class InvalidRefreshTokenException extends ApiException {
+
+    private InvalidRefreshTokenException(ApiError error) {
+        super(error);
+    }
+
+    public static InvalidRefreshTokenException unknown() {
+        return new InvalidRefreshTokenException(ApiError.INVALID_REFRESH_TOKEN);
+    }
+
+    public static InvalidRefreshTokenException revoked() {
+        return new InvalidRefreshTokenException(ApiError.REFRESH_TOKEN_REVOKED);
+    }
+}
@@ -0,0 +1,12 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** Unknown job id; mapped to 404. */
+public class JobNotFoundException extends ApiException {
+
+    public JobNotFoundException() {
+        super(ApiError.JOB_NOT_FOUND);
+    }
+}
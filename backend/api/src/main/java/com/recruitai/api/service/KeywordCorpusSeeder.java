@@ -0,0 +1,112 @@
+package com.recruitai.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Rebuilds the keyword IDF corpus at startup from the resumes already
+ * screened (every application past SUBMITTED), the same set batch screening
+ * adds to as it goes. Without it the corpus starts empty on every restart, and
+ * a resume's kw_score would depend on how many batches this node had run since
+ * its deploy.
+ *
+ * Runs once, on its own thread, in keyset pages. Batches wait for it in
+ * {@link KeywordService#awaitCorpus()}. A failed pass is logged and leaves
+ * the corpus partial rather than blocking screening.
+ */
+@Component
+public class KeywordCorpusSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(KeywordCorpusSeeder.class);
+
+    // Blob only for rows without a store file, one byte past max-text-bytes like ScreeningBatchService
+    private static final String PAGE_SQL = "select id, resume_uri, "
+            + "case when resume_uri like '" + ResumeStore.SCHEME + "%' then null "
+            + "else substring(resume_blob from 1 for ?) end from applications "
+            + "where status <> 'SUBMITTED' and id > ? order by id limit ?";
+
+    private final JdbcTemplate jdbc;
+    private final KeywordService keywords;
+    private final ResumeStore resumes;
+    private final boolean enabled;
+
+    @Value("${app.screening.keyword.seed-page-size:500}")
+    private int pageSize;
+
+    @Value("${app.screening.batch.max-text-bytes:1048576}")
+    private int maxTextBytes;
+
+    public KeywordCorpusSeeder(JdbcTemplate jdbc, KeywordService keywords, ResumeStore resumes,
+            @Value("${app.screening.keyword.seed-corpus:true}") boolean enabled) {
+        this.jdbc = jdbc;
+        this.keywords = keywords;
+        this.resumes = resumes;
+        this.enabled = enabled;
+        if (!enabled)
+            keywords.corpusLoaded();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled)
+            return;
+        Thread t = new Thread(this::seed, "keyword-corpus-seed");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void seed() {
+        long started = System.nanoTime();
+        long added = 0;
+        long skipped = 0;
+        try {
+            UUID after = new UUID(0, 0);
+            while (true) {
+                long[] counts = new long[2];
+                UUID[] last = new UUID[1];
+                jdbc.query(PAGE_SQL, rs -> {
+                    last[0] = rs.getObject(1, UUID.class);
+                    String text = text(last[0], rs.getString(2), rs.getBytes(3));
+                    if (text == null) {
+                        counts[1]++;
+                        return;
+                    }
+                    keywords.addToCorpus(text);
+                    counts[0]++;
+                }, maxTextBytes + 1, after, pageSize);
+                added += counts[0];
+                skipped += counts[1];
+                if (last[0] == null)
+                    break;
+                after = last[0];
+            }
+            log.info("Keyword corpus seeded with {} resumes ({} skipped) in {} ms", added, skipped,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Keyword corpus seeding stopped after {} resumes; IDF uses a partial corpus: {}", added,
+                    e.toString());
+        } finally {
+            keywords.corpusLoaded();
+        }
+    }
+
+    // Same text as batch screening scored: capped, and null for non-text or unreadable resumes
+    private String text(UUID id, String uri, byte[] blob) {
+        if (!ResumeStore.isStoreUri(uri))
+            return blob == null ? null : ResumeStore.decodeTextPrefix(blob, maxTextBytes);
+        try {
+            return resumes.readText(uri, maxTextBytes);
+        } catch (IOException e) {
+            log.debug("Resume {} of application {} unreadable: {}", uri, id, e.toString());
+            return null;
+        }
+    }
+}
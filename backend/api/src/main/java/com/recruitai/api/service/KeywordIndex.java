@@ -0,0 +1,301 @@
+package com.recruitai.api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Round 1 keyword scoring: how well a resume covers a job description's terms,
+ * each term weighted by how often the JD uses it and how rare it is across
+ * resumes (IDF).
+ *
+ * A JD is compiled once into a {@link CompiledJd}: its own small term table
+ * plus one float weight per term. Scoring a resume is then a single pass over
+ * its characters. Each token is hashed in a reused buffer and looked up in the
+ * JD's table, and matches are counted in an int array. Nothing is allocated
+ * per token or per resume, and terms the JD does not contain cost only a hash
+ * probe.
+ *
+ * Corpus statistics (documents seen, per-term document frequency) are updated
+ * incrementally by {@link #addDocument}. A compiled JD snapshots the IDF it
+ * was built with; {@link #isStale} tells callers when the corpus has grown
+ * enough to be worth recompiling.
+ *
+ * Score = sum(w_t * tf_t / (tf_t + k)) / sum(w_t) over the JD's terms, where
+ * tf_t is the term's count in the resume and k the saturation constant. It is
+ * in [0, 1): covering every JD term matters far more than repeating one.
+ * w_t = (1 + ln jdTf_t) * idf_t, multiplied by the skill boost for terms from
+ * the job's skills list. idf_t = ln(1 + (N - df_t + 0.5) / (df_t + 0.5)).
+ *
+ * Until the corpus holds min-corpus-documents resumes, idf_t is 1: a handful
+ * of documents says nothing about rarity. Past that, JD terms that no resume
+ * has ever used get weight 0 unless they are listed skills. They cannot tell
+ * candidates apart, and at full IDF, JD boilerplate ("hiring", "platform")
+ * would outweigh the actual skills and push every score towards zero.
+ */
+public final class KeywordIndex {
+
+    private final double saturation;
+    private final double skillBoost;
+    private final int maxTerms;
+    private final long minCorpusDocuments;
+
+    // Guarded by this. Writers hold it for a few hash probes per distinct term
+    // of one document; the scoring path never touches it.
+    private final TermTable terms = new TermTable(1 << 14);
+    private int[] docFreq = new int[1 << 14];
+    private volatile long documents;
+
+    private final ThreadLocal<DocumentTerms> documentTerms = ThreadLocal.withInitial(DocumentTerms::new);
+
+    public KeywordIndex(double saturation, double skillBoost, int maxTerms, long minCorpusDocuments) {
+        if (saturation <= 0)
+            throw new IllegalArgumentException("saturation must be > 0");
+        this.saturation = saturation;
+        this.skillBoost = skillBoost;
+        this.maxTerms = maxTerms;
+        this.minCorpusDocuments = minCorpusDocuments;
+    }
+
+    /** Number of documents added to the corpus. */
+    public long documents() {
+        return documents;
+    }
+
+    /** Distinct terms in the corpus dictionary. */
+    public synchronized int terms() {
+        return terms.size();
+    }
+
+    /**
+     * Counts {@code text} (a resume) into the corpus statistics. Terms beyond
+     * max-terms are not recorded, so they keep df 0 and, once the corpus is
+     * large enough, weigh 0 in a JD unless they are listed skills.
+     */
+    public void addDocument(CharSequence text) {
+        DocumentTerms doc = documentTerms.get();
+        doc.collect(text);
+        count(doc.table);
+    }
+
+    /** Counts a resume whose terms were collected earlier by {@link #resumeTerms}. */
+    public void addDocument(ResumeTerms resume) {
+        count(resume.table);
+    }
+
+    /**
+     * The distinct terms of {@code text}, for a caller that decides later
+     * whether the resume joins the corpus. Holds each term once, so it is far
+     * smaller than the text.
+     */
+    public ResumeTerms resumeTerms(CharSequence text) {
+        DocumentTerms doc = documentTerms.get();
+        doc.collect(text);
+        TermTable t = doc.table;
+        TermTable copy = new TermTable(t.size());
+        for (int id = 0; id < t.size(); id++)
+            copy.add(t.chars(), t.offset(id), t.length(id), t.hash(id));
+        return new ResumeTerms(copy);
+    }
+
+    private void count(TermTable t) {
+        synchronized (this) {
+            for (int id = 0; id < t.size(); id++) {
+                int tid = terms.find(t.chars(), t.offset(id), t.length(id), t.hash(id));
+                if (tid < 0) {
+                    if (terms.size() >= maxTerms)
+                        continue;
+                    tid = terms.add(t.chars(), t.offset(id), t.length(id), t.hash(id));
+                    if (tid == docFreq.length)
+                        docFreq = Arrays.copyOf(docFreq, tid * 2);
+                }
+                docFreq[tid]++;
+            }
+            documents++;
+        }
+    }
+
+    /** Compiles a job description (and its skills list, boosted) against the current IDF. */
+    public CompiledJd compile(CharSequence description, Collection<String> skills) {
+        JdTerms b = new JdTerms();
+        KeywordTokenizer.tokenize(description, b.buf, b);
+        if (skills != null) {
+            b.skills = true;
+            for (String s : skills)
+                KeywordTokenizer.tokenize(s, b.buf, b);
+        }
+        TermTable jd = b.table;
+        float[] tf = b.tf;
+        boolean[] skill = b.skill;
+
+        int n = jd.size();
+        float[] weights = new float[n];
+        double total = 0;
+        long docsAtCompile;
+        synchronized (this) {
+            docsAtCompile = documents;
+            boolean useIdf = docsAtCompile >= minCorpusDocuments;
+            for (int id = 0; id < n; id++) {
+                int tid = terms.find(jd.chars(), jd.offset(id), jd.length(id), jd.hash(id));
+                int df = tid < 0 ? 0 : docFreq[tid];
+                double idf = !useIdf ? 1
+                        : df == 0 && !skill[id] ? 0
+                        : Math.log(1 + (docsAtCompile - df + 0.5) / (df + 0.5));
+                double w = (1 + Math.log(tf[id])) * idf * (skill[id] ? skillBoost : 1);
+                weights[id] = (float) w;
+                total += w;
+            }
+        }
+        return new CompiledJd(jd, weights, total, docsAtCompile);
+    }
+
+    /**
+     * True once the corpus has grown by more than {@code ratio} since
+     * {@code jd} was compiled (always true for a JD compiled on an empty
+     * corpus once a document arrives).
+     */
+    public boolean isStale(CompiledJd jd, double ratio) {
+        long now = documents;
+        return now > jd.documentsAtCompile * (1 + ratio) || (jd.documentsAtCompile == 0 && now > 0);
+    }
+
+    /** A reusable scorer. Not thread-safe: one per thread or worker. */
+    public Scorer newScorer() {
+        return new Scorer(saturation);
+    }
+
+    /** A job description ready for scoring. Immutable; share it across threads. */
+    public static final class CompiledJd {
+        private final TermTable table;
+        private final float[] weights;
+        private final double totalWeight;
+        private final long documentsAtCompile;
+
+        CompiledJd(TermTable table, float[] weights, double totalWeight, long documentsAtCompile) {
+            this.table = table;
+            this.weights = weights;
+            this.totalWeight = totalWeight;
+            this.documentsAtCompile = documentsAtCompile;
+        }
+
+        public int terms() {
+            return weights.length;
+        }
+
+        public long documentsAtCompile() {
+            return documentsAtCompile;
+        }
+    }
+
+    /** Distinct terms of one resume, not yet in the corpus. Immutable. */
+    public static final class ResumeTerms {
+        private final TermTable table;
+
+        ResumeTerms(TermTable table) {
+            this.table = table;
+        }
+    }
+
+    /** Score plus the JD terms the resume contains, for display and audit. */
+    public record KeywordMatch(double score, List<String> keywordsUsed) {
+    }
+
+    /** Scores resumes against compiled JDs, reusing its buffers across calls. */
+    public static final class Scorer {
+        private final double saturation;
+        private final char[] buf = new char[KeywordTokenizer.MAX_TOKEN];
+        private int[] counts = new int[256];
+        private TermTable current;
+        private final KeywordTokenizer.Sink counter = (b, off, len, hash) -> {
+            int id = current.find(b, off, len, hash);
+            if (id >= 0)
+                counts[id]++;
+        };
+
+        Scorer(double saturation) {
+            this.saturation = saturation;
+        }
+
+        public double score(CompiledJd jd, CharSequence resume) {
+            count(jd, resume);
+            return sum(jd);
+        }
+
+        public KeywordMatch match(CompiledJd jd, CharSequence resume) {
+            count(jd, resume);
+            List<String> used = new ArrayList<>();
+            for (int id = 0; id < jd.weights.length; id++) {
+                if (counts[id] > 0 && jd.weights[id] > 0)
+                    used.add(jd.table.term(id));
+            }
+            return new KeywordMatch(sum(jd), used);
+        }
+
+        private void count(CompiledJd jd, CharSequence resume) {
+            int n = jd.weights.length;
+            if (counts.length < n)
+                counts = new int[Math.max(n, counts.length * 2)];
+            else
+                Arrays.fill(counts, 0, n, 0);
+            current = jd.table;
+            try {
+                KeywordTokenizer.tokenize(resume, buf, counter);
+            } finally {
+                current = null;
+            }
+        }
+
+        private double sum(CompiledJd jd) {
+            if (jd.totalWeight <= 0)
+                return 0;
+            double s = 0;
+            for (int id = 0; id < jd.weights.length; id++) {
+                int c = counts[id];
+                if (c > 0)
+                    s += jd.weights[id] * (c / (c + saturation));
+            }
+            return s / jd.totalWeight;
+        }
+    }
+
+    // JD term counts while compiling; skills-list terms are flagged for the boost
+    private static final class JdTerms implements KeywordTokenizer.Sink {
+        final TermTable table = new TermTable(256);
+        final char[] buf = new char[KeywordTokenizer.MAX_TOKEN];
+        float[] tf = new float[256];
+        boolean[] skill = new boolean[256];
+        boolean skills;
+
+        @Override
+        public void accept(char[] b, int off, int len, int hash) {
+            int id = table.add(b, off, len, hash);
+            if (id == tf.length) {
+                tf = Arrays.copyOf(tf, id * 2);
+                skill = Arrays.copyOf(skill, id * 2);
+            }
+            if (!skills)
+                tf[id]++;
+            else {
+                tf[id] = Math.max(tf[id], 1);
+                skill[id] = true;
+            }
+        }
+    }
+
+    // Distinct terms of one document, reused per thread by addDocument
+    private static final class DocumentTerms implements KeywordTokenizer.Sink {
+        final TermTable table = new TermTable(1024);
+        final char[] buf = new char[KeywordTokenizer.MAX_TOKEN];
+
+        void collect(CharSequence text) {
+            table.clear();
+            KeywordTokenizer.tokenize(text, buf, this);
+        }
+
+        @Override
+        public void accept(char[] b, int off, int len, int hash) {
+            table.add(b, off, len, hash);
+        }
+    }
+}
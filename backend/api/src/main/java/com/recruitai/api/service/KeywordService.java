@@ -0,0 +1,157 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.service.KeywordIndex.CompiledJd;
+import com.recruitai.api.service.KeywordIndex.KeywordMatch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Round 1 keyword scoring (kwScoreRaw) on top of {@link KeywordIndex}. Each
+ * job's description is compiled once and cached by job id. It is recompiled
+ * when the JD text changes, or when the resume corpus has grown by more than
+ * idf-refresh-ratio since the last compile, so the IDF weights follow the
+ * corpus at a geometrically shrinking rate.
+ *
+ * The corpus is rebuilt from the screened resumes at startup by
+ * {@link KeywordCorpusSeeder} and then grows with each batch.
+ *
+ * Single requests use a per-thread {@link KeywordIndex.Scorer}. Batch callers
+ * should take one {@link #newScorer()} per worker.
+ */
+@Service
+public class KeywordService implements MeterBinder {
+
+    private final KeywordIndex index;
+    private final double idfRefreshRatio;
+    private final int maxCachedJobs;
+    private final ConcurrentHashMap<UUID, Entry> jobs = new ConcurrentHashMap<>();
+    private final ThreadLocal<KeywordIndex.Scorer> scorers;
+    private final LongAdder compiles = new LongAdder();
+    private final LongAdder scored = new LongAdder();
+    private final CountDownLatch corpusLoaded = new CountDownLatch(1);
+
+    public KeywordService(@Value("${app.screening.keyword.saturation:0.5}") double saturation,
+            @Value("${app.screening.keyword.skill-boost:2.0}") double skillBoost,
+            @Value("${app.screening.keyword.max-terms:500000}") int maxTerms,
+            @Value("${app.screening.keyword.min-corpus-documents:100}") long minCorpusDocuments,
+            @Value("${app.screening.keyword.idf-refresh-ratio:0.1}") double idfRefreshRatio,
+            @Value("${app.screening.keyword.max-cached-jobs:10000}") int maxCachedJobs) {
+        this.index = new KeywordIndex(saturation, skillBoost, maxTerms, minCorpusDocuments);
+        this.idfRefreshRatio = idfRefreshRatio;
+        this.maxCachedJobs = Math.max(1, maxCachedJobs);
+        this.scorers = ThreadLocal.withInitial(index::newScorer);
+    }
+
+    /**
+     * The compiled JD for {@code jobId}, compiling it if absent, if the text or
+     * skills differ from the cached copy, or if its IDF is stale.
+     */
+    public CompiledJd jobDescription(UUID jobId, String description, Collection<String> skills) {
+        Entry e = jobs.get(jobId);
+        // Compared by content, not by hash: a collision would keep scoring against the old JD
+        if (e != null && e.matches(description, skills) && !index.isStale(e.jd, idfRefreshRatio))
+            return e.jd;
+        CompiledJd jd = index.compile(description, skills);
+        compiles.increment();
+        if (e == null && jobs.size() >= maxCachedJobs)
+            evictOne();
+        jobs.put(jobId, new Entry(jd, description, skills == null ? null : List.copyOf(skills)));
+        return jd;
+    }
+
+    /** Drops a job's compiled JD (job edited or closed). */
+    public void evict(UUID jobId) {
+        jobs.remove(jobId);
+    }
+
+    /** Marks the startup corpus pass as over (done, failed or disabled); see {@link KeywordCorpusSeeder}. */
+    public void corpusLoaded() {
+        corpusLoaded.countDown();
+    }
+
+    /** Blocks until the startup corpus pass is over, so a batch is not scored against a partial IDF. */
+    public void awaitCorpus() throws InterruptedException {
+        corpusLoaded.await();
+    }
+
+    /** Adds a resume to the corpus statistics behind IDF. Call once per resume. */
+    public void addToCorpus(CharSequence resumeText) {
+        index.addDocument(resumeText);
+    }
+
+    /** The resume's distinct terms, to pass to {@link #addToCorpus(KeywordIndex.ResumeTerms)} later. */
+    public KeywordIndex.ResumeTerms corpusTerms(CharSequence resumeText) {
+        return index.resumeTerms(resumeText);
+    }
+
+    /** Adds a resume collected by {@link #corpusTerms}. Call once per resume. */
+    public void addToCorpus(KeywordIndex.ResumeTerms resume) {
+        index.addDocument(resume);
+    }
+
+    /** kwScoreRaw in [0, 1). */
+    public double score(CompiledJd jd, CharSequence resumeText) {
+        scored.increment();
+        return scorers.get().score(jd, resumeText);
+    }
+
+    /** Score plus the matched JD terms (keywordsUsed). */
+    public KeywordMatch match(CompiledJd jd, CharSequence resumeText) {
+        scored.increment();
+        return scorers.get().match(jd, resumeText);
+    }
+
+    /** A scorer for one batch worker; not thread-safe, not counted in metrics. */
+    public KeywordIndex.Scorer newScorer() {
+        return index.newScorer();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("screening.keyword.compiles", compiles, LongAdder::sum).register(registry);
+        FunctionCounter.builder("screening.keyword.scored", scored, LongAdder::sum).register(registry);
+        Gauge.builder("screening.keyword.corpus.documents", index, KeywordIndex::documents).register(registry);
+        Gauge.builder("screening.keyword.corpus.terms", index, KeywordIndex::terms).register(registry);
+        Gauge.builder("screening.keyword.jobs.cached", jobs, ConcurrentHashMap::size).register(registry);
+    }
+
+    // Bounded like UserSnapshotCache: drop an arbitrary entry; it is recompiled on next use
+    private void evictOne() {
+        Iterator<UUID> it = jobs.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(CompiledJd jd, String description, List<String> skills) {
+
+        boolean matches(String description, Collection<String> skills) {
+            if (!Objects.equals(this.description, description))
+                return false;
+            if (this.skills == null || skills == null)
+                return this.skills == skills;
+            if (this.skills.size() != skills.size())
+                return false;
+            Iterator<String> it = skills.iterator();
+            for (String s : this.skills) {
+                if (!s.equals(it.next()))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.recruitai.api.service;
+
+/**
+ * Splits text into lower-cased terms in a caller-supplied buffer. Runs of
+ * letters, digits and {@code + # .} form a token, so "C++", "C#" and
+ * "Node.js" survive. Leading '.', '+' and '#' are trimmed, trailing ones only
+ * if '.' (a trailing "++" or "#" is kept, for c++, c#, f#). Purely
+ * numeric tokens, English stopwords, single letters other than "c" and "r",
+ * and tokens longer than {@link #MAX_TOKEN} (URLs, encoded blobs) are dropped.
+ *
+ * JD and resume go through the same rules, so what matters is that both sides
+ * tokenize alike, not that every tech name comes out verbatim.
+ */
+final class KeywordTokenizer {
+
+    static final int MAX_TOKEN = 48;
+
+    @FunctionalInterface
+    interface Sink {
+        void accept(char[] buf, int off, int len, int hash);
+    }
+
+    private static final TermTable STOPWORDS = new TermTable(160);
+
+    static {
+        for (String w : ("a an and are as at be been but by can could did do does for from had has have he her his "
+                + "i if in into is it its me my no not of on or our she so such than that the their them then there "
+                + "these they this those to too up us was we were what when where which while who whom why will "
+                + "with would you your yours about above after again against all am any because before being below "
+                + "between both during each few further here how more most other out over own same should some "
+                + "through under until very etc via per also well using used use within across including like").split(" "))
+            STOPWORDS.add(w);
+    }
+
+    private static final boolean[] ASCII_TOKEN_CHAR = new boolean[128];
+
+    static {
+        for (char c = 0; c < 128; c++)
+            ASCII_TOKEN_CHAR[c] = Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.';
+    }
+
+    private KeywordTokenizer() {
+    }
+
+    /** Feeds every kept term of {@code text} to {@code sink}; {@code buf} must hold MAX_TOKEN chars. */
+    static void tokenize(CharSequence text, char[] buf, Sink sink) {
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            if (!isTokenChar(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int len = 0;
+            boolean tooLong = false;
+            boolean hasLetter = false;
+            for (char c; i < n && isTokenChar(c = text.charAt(i)); i++) {
+                if (len == MAX_TOKEN) {
+                    tooLong = true;
+                    continue;
+                }
+                char lc;
+                if (c < 128) {
+                    lc = c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+                    hasLetter |= lc >= 'a' && lc <= 'z';
+                } else {
+                    lc = Character.toLowerCase(c);
+                    hasLetter |= Character.isLetter(lc);
+                }
+                buf[len++] = lc;
+            }
+            if (tooLong || !hasLetter)
+                continue;
+            int off = 0;
+            while (off < len && isTrimmed(buf[off]))
+                off++;
+            // keep a trailing "++" / "#": c++, c#, f#
+            while (len > off && buf[len - 1] == '.')
+                len--;
+            int l = len - off;
+            if (l == 0 || (l == 1 && buf[off] != 'c' && buf[off] != 'r'))
+                continue;
+            int hash = TermTable.hash(buf, off, l);
+            if (STOPWORDS.find(buf, off, l, hash) >= 0)
+                continue;
+            sink.accept(buf, off, l, hash);
+        }
+    }
+
+    // Resumes are mostly ASCII; skip the Unicode tables for it
+    private static boolean isTokenChar(char c) {
+        return c < 128 ? ASCII_TOKEN_CHAR[c] : Character.isLetterOrDigit(c);
+    }
+
+    private static boolean isTrimmed(char c) {
+        return c == '.' || c == '+' || c == '#';
+    }
+}
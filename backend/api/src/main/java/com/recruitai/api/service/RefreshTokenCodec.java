@@ -0,0 +1,70 @@
+package com.recruitai.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Raw refresh-token generation and the one-way hash stored in
+ * refresh_tokens.token_hash. Stateless apart from the striped generators.
+ */
+public final class RefreshTokenCodec {
+
+    private RefreshTokenCodec() {
+    }
+
+    // SecureRandom.nextBytes synchronizes internally; pick a random stripe per call so
+    // concurrent logins do not queue on a single generator. DRBG is preferred: once
+    // seeded it does no file I/O inside its lock (NativePRNG reads /dev/urandom
+    // there, which pins a virtual thread's carrier).
+    private static final SecureRandom[] RNGS = new SecureRandom[stripes()];
+
+    static {
+        for (int i = 0; i < RNGS.length; i++) {
+            RNGS[i] = newRng();
+        }
+    }
+
+    private static SecureRandom newRng() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static int stripes() {
+        return Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1) * 2;
+    }
+
+    public static String randomToken() {
+        byte[] buf = new byte[32];
+        rng().nextBytes(buf);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf);
+    }
+
+    /** 128-bit random id (access-token jti) from the same striped generators. */
+    public static String randomId() {
+        byte[] buf = new byte[16];
+        rng().nextBytes(buf);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf);
+    }
+
+    // A random stripe rather than one by thread id: Thread.getId() is deprecated since Java 19
+    private static SecureRandom rng() {
+        return RNGS[ThreadLocalRandom.current().nextInt() & (RNGS.length - 1)];
+    }
+
+    public static String sha256B64(String raw) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] digest = md.digest(raw.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to hash token", e);
+        }
+    }
+}
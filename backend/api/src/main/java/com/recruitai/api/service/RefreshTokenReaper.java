@@ -0,0 +1,119 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Keeps refresh_tokens from growing without bound.
+ *
+ * delete mode: removes expired tokens, and tokens revoked longer ago than the
+ * retention window, in small batches (one short transaction each).
+ * Revoked tokens are kept for a while so a replay still triggers family
+ * revocation instead of a plain "invalid token".
+ *
+ * partitions mode: for a table created from
+ * docker/postgres/optional/refresh-tokens-partitioned.sql; detaches (without
+ * blocking logins) and drops whole monthly partitions whose rows have all
+ * expired and pre-creates upcoming ones, then runs the same batched delete for
+ * revoked rows past retention (and the few expired rows left in the current
+ * month's partition).
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.security.refresh-reaper", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenReaper {
+
+    public enum Mode {
+        DELETE, PARTITIONS
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenReaper.class);
+
+    private static final String DETACH_SQL = "alter table refresh_tokens detach partition ";
+
+    private final RefreshTokenRepository refreshTokens;
+    private final JdbcTemplate jdbc;
+
+    @Value("${app.security.refresh-reaper.mode:delete}")
+    private Mode mode;
+
+    @Value("${app.security.refresh-reaper.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.security.refresh-reaper.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.security.refresh-reaper.revoked-retention-hours:24}")
+    private long revokedRetentionHours;
+
+    @Value("${app.security.refresh-reaper.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    public RefreshTokenReaper(RefreshTokenRepository refreshTokens, JdbcTemplate jdbc) {
+        this.refreshTokens = refreshTokens;
+        this.jdbc = jdbc;
+    }
+
+    @Scheduled(initialDelayString = "${app.security.refresh-reaper.initial-delay-ms:60000}",
+            fixedDelayString = "${app.security.refresh-reaper.interval-ms:300000}")
+    public void reap() {
+        try {
+            if (mode == Mode.PARTITIONS)
+                rollPartitions();
+            deleteInBatches();
+        } catch (Exception e) {
+            // Next run retries; never let the scheduler thread die
+            log.warn("Refresh token reaper run failed: {}", e.getMessage());
+        }
+    }
+
+    int deleteInBatches() {
+        Instant now = Instant.now();
+        Instant revokedBefore = now.minus(revokedRetentionHours, ChronoUnit.HOURS);
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int deleted = refreshTokens.deleteExpiredBatch(now, revokedBefore, batchSize);
+            total += deleted;
+            if (deleted < batchSize)
+                break;
+        }
+        if (total > 0)
+            log.debug("Reaped {} refresh tokens", total);
+        return total;
+    }
+
+    private record ExpiredPartition(String name, String state) {
+    }
+
+    // DROP TABLE (or a plain DETACH) on a partition locks refresh_tokens ACCESS EXCLUSIVE, queueing
+    // every login and refresh behind it. DETACH ... CONCURRENTLY only takes SHARE UPDATE EXCLUSIVE;
+    // the table it leaves behind is then dropped on its own. CONCURRENTLY must not run inside a
+    // transaction block, so each statement commits by itself (no @Transactional here).
+    void rollPartitions() {
+        jdbc.execute("select ensure_refresh_token_partitions(" + partitionsAhead + ")");
+        List<ExpiredPartition> expired = jdbc.query(
+                "select partition_name, state from expired_refresh_token_partitions()",
+                (rs, i) -> new ExpiredPartition(rs.getString(1), rs.getString(2)));
+        for (ExpiredPartition p : expired) {
+            // refresh_tokens_pYYYYMM, as matched by the function: safe to splice in
+            String table = '"' + p.name() + '"';
+            if ("attached".equals(p.state()))
+                jdbc.execute(DETACH_SQL + table + " concurrently");
+            else if ("pending".equals(p.state()))
+                // An earlier concurrent detach was interrupted; only FINALIZE completes it
+                jdbc.execute(DETACH_SQL + table + " finalize");
+            jdbc.execute("drop table " + table);
+        }
+        if (!expired.isEmpty())
+            log.debug("Dropped {} expired refresh token partitions", expired.size());
+    }
+}
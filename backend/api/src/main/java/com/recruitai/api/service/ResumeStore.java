@@ -0,0 +1,192 @@
+package com.recruitai.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Local content-addressed file store for resumes. A file is stored once under
+ * its SHA-256, as root/sha256/ab/cd/abcd..., and referenced by the URI
+ * {@code sha256:<hex>} in applications.resume_uri. Identical uploads share
+ * one file.
+ *
+ * Uploads are copied through a fixed 64 KB buffer into a temp file under the
+ * root. The file is hashed while it is written, forced to disk, then renamed
+ * into place, so a stored path is always complete and never changes. That is
+ * what lets downloads hand the path to the connector for sendfile.
+ *
+ * Files are not deleted when their applications are; see docs/resume-storage.md.
+ */
+@Service
+public class ResumeStore {
+
+    static final String SCHEME = "sha256:";
+
+    private static final Pattern URI = Pattern.compile("sha256:[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path root;
+    private final Path tmp;
+    private final Counter stored;
+    private final Counter duplicates;
+    private final Counter bytesWritten;
+
+    public ResumeStore(@Value("${app.resume-store.root:./data/resumes}") String root, MeterRegistry meters)
+            throws IOException {
+        Path dir = Files.createDirectories(Path.of(root));
+        // Real path: the connector is given absolute, canonical file names for sendfile
+        this.root = dir.toRealPath();
+        this.tmp = Files.createDirectories(this.root.resolve("tmp"));
+        this.stored = Counter.builder("resume.store.writes").tag("outcome", "stored").register(meters);
+        this.duplicates = Counter.builder("resume.store.writes").tag("outcome", "duplicate").register(meters);
+        this.bytesWritten = Counter.builder("resume.store.bytes.written").baseUnit("bytes").register(meters);
+    }
+
+    /** A stored resume: its URI and size in bytes. */
+    public record StoredResume(String uri, long size) {
+    }
+
+    /**
+     * Copies {@code in} into the store and returns its URI. Does not close
+     * {@code in}. An empty stream is rejected with IllegalArgumentException.
+     */
+    public StoredResume store(InputStream in) throws IOException {
+        MessageDigest sha256 = sha256();
+        Path part = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            long size = 0;
+            try (FileChannel out = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                byte[] chunk = new byte[BUFFER_SIZE];
+                ByteBuffer buf = ByteBuffer.wrap(chunk);
+                int n;
+                while ((n = in.read(chunk)) != -1) {
+                    sha256.update(chunk, 0, n);
+                    buf.clear().limit(n);
+                    while (buf.hasRemaining())
+                        out.write(buf);
+                    size += n;
+                }
+                if (size == 0)
+                    throw new IllegalArgumentException("Resume file is empty");
+                out.force(true);
+            }
+            String hex = HEX.formatHex(sha256.digest());
+            Path target = path(hex);
+            if (Files.exists(target)) {
+                duplicates.increment();
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+                    stored.increment();
+                    bytesWritten.increment(size);
+                } catch (FileAlreadyExistsException e) {
+                    // Same content uploaded concurrently; either copy will do
+                    duplicates.increment();
+                }
+            }
+            return new StoredResume(SCHEME + hex, size);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    /**
+     * The file behind {@code uri}.
+     *
+     * @throws IllegalArgumentException if {@code uri} is not a store URI
+     */
+    public Path resolve(String uri) {
+        if (uri == null || !URI.matcher(uri).matches())
+            throw new IllegalArgumentException("Not a resume store URI: " + uri);
+        return path(uri.substring(SCHEME.length()));
+    }
+
+    /**
+     * At most the first {@code maxBytes} of the resume as text, or null if it
+     * is not plain UTF-8 text; see {@link #decodeTextPrefix}.
+     */
+    public String readText(String uri, int maxBytes) throws IOException {
+        try (InputStream in = Files.newInputStream(resolve(uri))) {
+            return decodeTextPrefix(in.readNBytes(maxBytes + 1), maxBytes);
+        }
+    }
+
+    /**
+     * {@code bytes} as UTF-8 text, or null for anything else. There is no text
+     * extractor in the API, so PDF, DOCX, images and other binary uploads would
+     * only feed their byte soup into scores and the IDF corpus.
+     */
+    public static String decodeText(byte[] bytes) {
+        if (Arrays.equals(bytes, 0, Math.min(bytes.length, PDF_MAGIC.length), PDF_MAGIC, 0, PDF_MAGIC.length))
+            return null;
+        // NUL is valid UTF-8 but never occurs in text; ZIP-based formats (DOCX) are full of it
+        for (byte b : bytes) {
+            if (b == 0)
+                return null;
+        }
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Like {@link #decodeText}, for the first bytes of a resume: pass up to
+     * {@code maxBytes + 1} of them. If there are more than {@code maxBytes},
+     * the text is cut at the last whole character within {@code maxBytes}, so
+     * a character split by the cut does not reject the resume as malformed.
+     */
+    public static String decodeTextPrefix(byte[] bytes, int maxBytes) {
+        if (bytes.length <= maxBytes)
+            return decodeText(bytes);
+        int end = maxBytes;
+        // bytes[end] is the first one dropped; back up over a character it continues (at most 3 bytes)
+        for (int i = 0; i < 3 && end > 0 && (bytes[end] & 0xC0) == 0x80; i++)
+            end--;
+        return decodeText(Arrays.copyOf(bytes, end));
+    }
+
+    /** Whether {@code uri} points into this store (as opposed to e.g. an external URL). */
+    public static boolean isStoreUri(String uri) {
+        return uri != null && uri.startsWith(SCHEME);
+    }
+
+    private Path path(String hex) {
+        return root.resolve("sha256").resolve(hex.substring(0, 2)).resolve(hex.substring(2, 4)).resolve(hex);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.dto.screening.ScreeningProgress;
+import com.recruitai.api.dto.screening.ScreeningResult;
+import com.recruitai.api.model.User;
+import com.recruitai.api.service.KeywordIndex.CompiledJd;
+import com.recruitai.api.service.KeywordIndex.ResumeTerms;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Round 1 screening of every pending (SUBMITTED) application of a job as one
+ * batch, streamed back as Server-Sent Events.
+ *
+ * The batch is a three-stage pipeline over pages of page-size applications,
+ * read in id order (keyset, so memory stays at a few pages whatever the job
+ * size):
+ * <ol>
+ * <li>read: the coordinator thread fetches the next page: resume store URIs,
+ * or inline text for applications from before the store</li>
+ * <li>score: a shared fork-join pool splits the page across cores; each task
+ * reads its resumes from {@link ResumeStore}</li>
+ * <li>write: a per-batch writer thread stores the page in one transaction
+ * (status update, round_scores and attempts as JDBC batches) while the
+ * coordinator reads and scores the next page</li>
+ * </ol>
+ *
+ * The JD is compiled once at the start, so every applicant in the batch is
+ * weighed against the same IDF. A screened resume is added to the corpus once
+ * its page is committed, and only if this batch moved it. Only the first
+ * max-text-bytes of a resume are read. The batch runs to the end even if the
+ * client disconnects: results are in round_scores either way.
+ */
+@Service
+public class ScreeningBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreeningBatchService.class);
+
+    // Resumes per fork-join leaf task
+    private static final int SLICE = 16;
+
+    private static final String JOB_SQL = "select description, skills, created_by from jobs where id = ?";
+    private static final String COUNT_SQL = "select count(*) from applications where job_id = ? and status = 'SUBMITTED'";
+    // Blob only for rows without a store file (older uploads), one byte past max-text-bytes
+    // so ResumeStore.decodeTextPrefix can tell a cut blob from a short one
+    private static final String PAGE_SQL = "select id, resume_uri, "
+            + "case when resume_uri like '" + ResumeStore.SCHEME + "%' then null "
+            + "else substring(resume_blob from 1 for ?) end from applications "
+            + "where job_id = ? and status = 'SUBMITTED' and id > ? order by id limit ?";
+    // Guarded so a per-application run that got there first wins; only rows
+    // this batch moved get a score
+    private static final String STATUS_SQL = "update applications set status = ? where id = ? and status = 'SUBMITTED'";
+    private static final String SCORE_SQL = "insert into round_scores "
+            + "(application_id, round, kw_score, final_score, passed, threshold) values (?, 'R1', ?, ?, ?, ?)";
+    private static final String ATTEMPT_SQL = "insert into attempts (application_id, round, attempt_no, locked) "
+            + "values (?, 'R1', 1, true) on conflict (application_id, round, attempt_no) do nothing";
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final KeywordService keywords;
+    private final ResumeStore resumes;
+    private final ForkJoinPool workers;
+    private final ExecutorService coordinators;
+    private final Semaphore slots;
+    private final ConcurrentHashMap<UUID, Boolean> running = new ConcurrentHashMap<>();
+    private final Counter passedCount;
+    private final Counter failedCount;
+    private final Counter skippedCount;
+
+    @Value("${app.screening.batch.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.screening.batch.sse-timeout-minutes:30}")
+    private long sseTimeoutMinutes;
+
+    @Value("${app.screening.batch.max-text-bytes:1048576}")
+    private int maxTextBytes;
+
+    @Value("${app.screening.batch.top-results:20}")
+    private int topResults;
+
+    @Value("${app.screening.round1.threshold:0.80}")
+    private double threshold;
+
+    @Value("${app.screening.round1.keyword-min:0.0}")
+    private double keywordMin;
+
+    @Value("${app.screening.round1.keyword-max:0.5}")
+    private double keywordMax;
+
+    public ScreeningBatchService(JdbcTemplate jdbc, PlatformTransactionManager txManager, KeywordService keywords,
+            ResumeStore resumes, MeterRegistry meters,
+            @Value("${app.screening.batch.worker-threads:0}") int workerThreads,
+            @Value("${app.screening.batch.max-concurrent:2}") int maxConcurrent) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.keywords = keywords;
+        this.resumes = resumes;
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        // Below normal priority, like bulk hashing: interactive requests keep the CPU first
+        this.workers = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("screening-worker-" + t.getPoolIndex());
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        }, null, false);
+        AtomicInteger seq = new AtomicInteger();
+        this.coordinators = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "screening-batch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+        this.passedCount = applications(meters, "passed");
+        this.failedCount = applications(meters, "failed");
+        this.skippedCount = applications(meters, "skipped");
+        Gauge.builder("screening.batch.running", running, ConcurrentHashMap::size).register(meters);
+    }
+
+    private static Counter applications(MeterRegistry meters, String outcome) {
+        return Counter.builder("screening.batch.applications").tag("outcome", outcome).register(meters);
+    }
+
+    /**
+     * Starts screening {@code jobId}'s pending applications and returns the
+     * event stream: started, then results (one per page: that page's scores)
+     * and progress, then done with the top final scores, or failed.
+     *
+     * @throws JobNotFoundException         if the job does not exist, or
+     *                                      {@code requester} is a recruiter
+     *                                      who did not create it
+     * @throws ScreeningInProgressException if a batch for this job is running
+     * @throws ScreeningBusyException       if max-concurrent batches are running
+     */
+    public SseEmitter start(UUID jobId, User requester) {
+        Job job = jdbc.query(JOB_SQL, rs -> {
+            if (!rs.next())
+                return null;
+            Array skills = rs.getArray(2);
+            return new Job(jobId, rs.getString(1),
+                    skills == null ? List.of() : Arrays.asList((String[]) skills.getArray()),
+                    rs.getObject(3, UUID.class));
+        }, jobId);
+        // Recruiters screen their own jobs only; another's job answers like a missing one
+        if (job == null || (requester.getRole() != User.Role.ADMIN && !requester.getId().equals(job.createdBy())))
+            throw new JobNotFoundException();
+        if (running.putIfAbsent(jobId, Boolean.TRUE) != null)
+            throw new ScreeningInProgressException();
+        if (!slots.tryAcquire()) {
+            running.remove(jobId);
+            throw new ScreeningBusyException();
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(sseTimeoutMinutes));
+        try {
+            coordinators.execute(() -> {
+                try {
+                    new Batch(job, emitter).run();
+                } finally {
+                    running.remove(jobId);
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            running.remove(jobId);
+            slots.release();
+            throw e;
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    double finalScore(double kwScore) {
+        // Only the keyword half of final_r1 exists in the API; the resume
+        // evaluation score is not computed here, so it is the keyword score alone
+        double range = keywordMax - keywordMin;
+        return range <= 0 ? 0 : Math.min(1, Math.max(0, (kwScore - keywordMin) / range));
+    }
+
+    private record Job(UUID id, String description, List<String> skills, UUID createdBy) {
+    }
+
+    /** A page row: inline text (legacy resume_blob) or a resume store URI, read when scored. */
+    private record Pending(UUID id, String resumeUri, String resumeText) {
+    }
+
+    /** Scores and rows of one page, handed from the coordinator to the writer. */
+    private record Page(List<ScreeningResult> scored, int skipped) {
+    }
+
+    /** State of one batch; lives on its coordinator thread, apart from write(). */
+    private final class Batch {
+        private final Job job;
+        private final SseEmitter emitter;
+        private final long started = System.nanoTime();
+        private final PriorityQueue<ScreeningResult> top = new PriorityQueue<>(
+                Comparator.comparingDouble(ScreeningResult::getFinalScore));
+        private volatile boolean connected = true;
+        private long total;
+        private long processed;
+        private long passed;
+        private long failed;
+        private long skipped;
+
+        Batch(Job job, SseEmitter emitter) {
+            this.job = job;
+            this.emitter = emitter;
+            emitter.onCompletion(() -> connected = false);
+            emitter.onTimeout(() -> connected = false);
+            emitter.onError(e -> connected = false);
+        }
+
+        void run() {
+            ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, Thread.currentThread().getName() + "-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                keywords.awaitCorpus();
+                CompiledJd jd = keywords.jobDescription(job.id(), job.description(), job.skills());
+                Long count = jdbc.queryForObject(COUNT_SQL, Long.class, job.id());
+                total = count == null ? 0 : count;
+                send("started", progress(null));
+
+                UUID after = MIN_UUID;
+                Future<Page> pending = null;
+                while (true) {
+                    List<Pending> rows = jdbc.query(PAGE_SQL,
+                            (rs, i) -> {
+                                // Store files are read by the scoring task, so a page holds only URIs for them
+                                byte[] blob = rs.getBytes(3);
+                                return new Pending(rs.getObject(1, UUID.class), rs.getString(2),
+                                        blob == null ? null : ResumeStore.decodeTextPrefix(blob, maxTextBytes));
+                            }, maxTextBytes + 1, job.id(), after, pageSize);
+                    if (rows.isEmpty())
+                        break;
+                    after = rows.get(rows.size() - 1).id();
+                    double[] scores = new double[rows.size()];
+                    ResumeTerms[] terms = new ResumeTerms[rows.size()];
+                    workers.invoke(new ScoreSlice(rows, jd, scores, terms, 0, rows.size()));
+                    if (pending != null)
+                        report(pending.get());
+                    pending = writer.submit(() -> write(rows, scores, terms));
+                }
+                if (pending != null)
+                    report(pending.get());
+                List<ScreeningResult> best = new ArrayList<>(top);
+                best.sort(Comparator.comparingDouble(ScreeningResult::getFinalScore).reversed());
+                send("done", progress(best));
+                log.info("Screened job {}: {} passed, {} failed, {} skipped in {} ms", job.id(), passed, failed,
+                        skipped, elapsedMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } catch (ExecutionException e) {
+                fail(e.getCause());
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                writer.shutdownNow();
+                if (connected)
+                    emitter.complete();
+            }
+        }
+
+        // Runs on the writer thread
+        private Page write(List<Pending> rows, double[] scores, ResumeTerms[] terms) {
+            List<ScreeningResult> scored = new ArrayList<>(rows.size());
+            List<ResumeTerms> scoredTerms = new ArrayList<>(rows.size());
+            int noText = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                if (Double.isNaN(scores[i])) {
+                    noText++;
+                    continue;
+                }
+                double f = finalScore(scores[i]);
+                scored.add(new ScreeningResult(rows.get(i).id(), scores[i], f, f >= threshold));
+                scoredTerms.add(terms[i]);
+            }
+            if (scored.isEmpty())
+                return new Page(scored, noText);
+            List<ResumeTerms> corpus = new ArrayList<>(scored.size());
+            List<ScreeningResult> stored = tx.execute(s -> {
+                int[] moved = jdbc.batchUpdate(STATUS_SQL, batch(scored, (ps, r) -> {
+                    ps.setString(1, r.isPassed() ? "R1_PASSED" : "R1_FAILED");
+                    ps.setObject(2, r.getApplicationId());
+                }));
+                List<ScreeningResult> mine = new ArrayList<>(scored.size());
+                for (int i = 0; i < moved.length; i++) {
+                    if (moved[i] != 0) {
+                        mine.add(scored.get(i));
+                        corpus.add(scoredTerms.get(i));
+                    }
+                }
+                jdbc.batchUpdate(SCORE_SQL, batch(mine, (ps, r) -> {
+                    ps.setObject(1, r.getApplicationId());
+                    ps.setDouble(2, r.getKwScore());
+                    ps.setDouble(3, r.getFinalScore());
+                    ps.setBoolean(4, r.isPassed());
+                    ps.setDouble(5, threshold);
+                }));
+                jdbc.batchUpdate(ATTEMPT_SQL, batch(mine, (ps, r) -> ps.setObject(1, r.getApplicationId())));
+                return mine;
+            });
+            // Committed: count these resumes once. Rows another run moved, or a failed write that
+            // leaves them SUBMITTED for the next batch, must not be counted here
+            for (ResumeTerms resume : corpus)
+                keywords.addToCorpus(resume);
+            return new Page(stored, noText + (scored.size() - stored.size()));
+        }
+
+        private void report(Page page) {
+            processed += page.scored().size() + page.skipped();
+            skipped += page.skipped();
+            skippedCount.increment(page.skipped());
+            for (ScreeningResult r : page.scored()) {
+                if (r.isPassed()) {
+                    passed++;
+                    passedCount.increment();
+                } else {
+                    failed++;
+                    failedCount.increment();
+                }
+                if (top.size() < topResults)
+                    top.add(r);
+                else if (topResults > 0 && r.getFinalScore() > top.peek().getFinalScore()) {
+                    top.poll();
+                    top.add(r);
+                }
+            }
+            send("results", page.scored());
+            send("progress", progress(null));
+        }
+
+        private ScreeningProgress progress(List<ScreeningResult> best) {
+            return new ScreeningProgress(job.id(), total, processed, passed, failed, skipped, elapsedMs(), best);
+        }
+
+        private long elapsedMs() {
+            return (System.nanoTime() - started) / 1_000_000;
+        }
+
+        private void fail(Throwable e) {
+            // Pages written so far stay written; the rest are still SUBMITTED
+            log.error("Screening of job {} aborted after {} applications", job.id(), processed, e);
+            send("failed", progress(null));
+        }
+
+        private void send(String event, Object data) {
+            if (!connected)
+                return;
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; keep screening, results are in round_scores
+                connected = false;
+                log.debug("Screening stream for job {} closed: {}", job.id(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Scores rows[from, to) into scores and collects each resume's distinct
+     * terms for the corpus; NaN marks a row without (plain) resume text.
+     */
+    private final class ScoreSlice extends RecursiveAction {
+        private final List<Pending> rows;
+        private final CompiledJd jd;
+        private final double[] scores;
+        private final ResumeTerms[] terms;
+        private final int from;
+        private final int to;
+
+        ScoreSlice(List<Pending> rows, CompiledJd jd, double[] scores, ResumeTerms[] terms, int from, int to) {
+            this.rows = rows;
+            this.jd = jd;
+            this.scores = scores;
+            this.terms = terms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SLICE) {
+                for (int i = from; i < to; i++) {
+                    String text = text(rows.get(i));
+                    if (text == null) {
+                        scores[i] = Double.NaN;
+                        continue;
+                    }
+                    terms[i] = keywords.corpusTerms(text);
+                    scores[i] = keywords.score(jd, text);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreSlice(rows, jd, scores, terms, from, mid),
+                    new ScoreSlice(rows, jd, scores, terms, mid, to));
+        }
+
+        private String text(Pending row) {
+            if (!ResumeStore.isStoreUri(row.resumeUri()))
+                return row.resumeText();
+            try {
+                String text = resumes.readText(row.resumeUri(), maxTextBytes);
+                if (text == null)
+                    log.debug("Resume {} of application {} is not plain text; skipped", row.resumeUri(), row.id());
+                return text;
+            } catch (IOException e) {
+                // Missing or unreadable file: skipped like a row without text, stays SUBMITTED
+                log.warn("Resume {} of application {} unreadable: {}", row.resumeUri(), row.id(), e.toString());
+                return null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement ps, ScreeningResult r) throws SQLException;
+    }
+
+    private static BatchPreparedStatementSetter batch(List<ScreeningResult> rows, Binder binder) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                binder.bind(ps, rows.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        };
+    }
+}
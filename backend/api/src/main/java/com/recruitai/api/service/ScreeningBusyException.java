@@ -0,0 +1,12 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** Thrown when max-concurrent screening batches are already running; mapped to 503. */
+public class ScreeningBusyException extends ApiException {
+
+    public ScreeningBusyException() {
+        super(ApiError.SERVICE_BUSY);
+    }
+}
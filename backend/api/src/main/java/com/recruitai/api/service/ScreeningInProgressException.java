@@ -0,0 +1,12 @@
+package com.recruitai.api.service;
+
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.common.ApiException;
+
+/** A second batch screening for a job whose batch is still running; mapped to 409. */
+public class ScreeningInProgressException extends ApiException {
+
+    public ScreeningInProgressException() {
+        super(ApiError.SCREENING_IN_PROGRESS);
+    }
+}
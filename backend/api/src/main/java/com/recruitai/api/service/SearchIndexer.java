@@ -0,0 +1,422 @@
+package com.recruitai.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitai.api.service.ElasticBulkClient.Action;
+import com.recruitai.api.service.ElasticBulkClient.BulkRequestException;
+import com.recruitai.api.service.ElasticBulkClient.ItemResult;
+import com.recruitai.api.service.ElasticBulkClient.Outcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains search_outbox into Elasticsearch with _bulk requests, on one
+ * background thread per node.
+ *
+ * Each round claims up to batch-size due rows with a single UPDATE ... FOR
+ * UPDATE SKIP LOCKED that pushes their next_attempt_at out by a lease, so
+ * several nodes can drain the same table and no database connection is held
+ * while Elasticsearch answers. Documents are rebuilt from the current rows
+ * (several outbox rows for one document become one action; a document whose
+ * rows are gone becomes a delete) and sent in _bulk requests of at most
+ * max-bulk-bytes. Then done rows are deleted, retryable ones are rescheduled
+ * with exponential backoff, and rejected ones are parked with their error.
+ * Only item results use up attempts: rows a failed request never delivered
+ * just have their lease released, so an outage of any length parks nothing.
+ *
+ * Backpressure: a 429 or 413 for a request, or 429s for at least a tenth
+ * of a round's items, halves the batch size; other rounds without a failed
+ * request grow it again by a tenth of the maximum (AIMD). A few throttled
+ * items only get those items retried, with their own backoff. A failed
+ * request (timeout, 5xx, connection refused) also pauses the whole loop with
+ * exponential backoff. Writers are never slowed down; the outbox just grows
+ * until the cluster catches up.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search.indexer", name = "enabled", havingValue = "true")
+public class SearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexer.class);
+
+    private static final String CLAIM_SQL = "update search_outbox o "
+            + "set next_attempt_at = now() + ? * interval '1 millisecond' "
+            + "from (select id from search_outbox where next_attempt_at <= now() "
+            + "      order by next_attempt_at, id limit ? for update skip locked) due "
+            + "where o.id = due.id returning o.id, o.index_name, o.doc_id, o.attempts, o.created_at";
+    private static final String DONE_SQL = "delete from search_outbox where id = ?";
+    private static final String RETRY_SQL = "update search_outbox set attempts = attempts + 1, "
+            + "next_attempt_at = now() + ? * interval '1 millisecond', last_error = ? where id = ?";
+    // Not sent because the request failed: no attempt used, due again once the loop's pause is over
+    private static final String RELEASE_SQL = "update search_outbox set next_attempt_at = now(), last_error = ? "
+            + "where id = ?";
+    private static final String PARK_SQL = "update search_outbox set attempts = attempts + 1, "
+            + "next_attempt_at = 'infinity', last_error = ? where id = ?";
+    // One byte past max-text-bytes, so ResumeStore.decodeTextPrefix can tell a cut blob from a short one
+    private static final String RESUMES_SQL = "select id, resume_uri, "
+            + "case when resume_uri like '" + ResumeStore.SCHEME + "%' then null "
+            + "else substring(resume_blob from 1 for ?) end "
+            + "from applications where id = any(?::uuid[])";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final SearchOutbox outbox;
+    private final ResumeStore resumes;
+    private final ObjectMapper json;
+    private final ElasticBulkClient client;
+    private final int maxBatchSize;
+    private final AtomicInteger batchSize;
+    private final AtomicLong lagMs = new AtomicLong();
+    private final Counter indexed;
+    private final Counter deleted;
+    private final Counter retried;
+    private final Counter rejected;
+    private final Timer bulkTimer;
+    private volatile Thread worker;
+
+    @Value("${app.search.indexer.min-batch-size:10}")
+    private int minBatchSize;
+
+    @Value("${app.search.indexer.max-bulk-bytes:5242880}")
+    private int maxBulkBytes;
+
+    @Value("${app.search.indexer.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.search.indexer.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${app.search.indexer.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${app.search.indexer.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${app.search.indexer.max-text-bytes:1048576}")
+    private int maxTextBytes;
+
+    private final long leaseMs;
+
+    public SearchIndexer(JdbcTemplate jdbc, SearchOutbox outbox, ResumeStore resumes, ObjectMapper json,
+            MeterRegistry meters,
+            @Value("${app.search.elasticsearch.url:http://localhost:9200}") String url,
+            @Value("${app.search.elasticsearch.api-key:}") String apiKey,
+            @Value("${app.search.indexer.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${app.search.indexer.request-timeout-ms:10000}") long requestTimeoutMs,
+            @Value("${app.search.indexer.batch-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.outbox = outbox;
+        this.resumes = resumes;
+        this.json = json;
+        this.client = new ElasticBulkClient(url, apiKey, Duration.ofMillis(connectTimeoutMs),
+                Duration.ofMillis(requestTimeoutMs), json);
+        // Claimed rows come due again after this if the node dies mid-round
+        this.leaseMs = 2 * (connectTimeoutMs + requestTimeoutMs) + 30_000;
+        this.maxBatchSize = Math.max(1, batchSize);
+        this.batchSize = new AtomicInteger(this.maxBatchSize);
+        this.indexed = documents(meters, "indexed");
+        this.deleted = documents(meters, "deleted");
+        this.retried = documents(meters, "retried");
+        this.rejected = documents(meters, "rejected");
+        this.bulkTimer = Timer.builder("search.indexer.bulk").register(meters);
+        Gauge.builder("search.indexer.batch.size", this.batchSize, AtomicInteger::get).register(meters);
+        // Age of the oldest row in the last claimed batch; 0 when the outbox was empty
+        Gauge.builder("search.indexer.lag", lagMs, l -> l.get() / 1000.0).baseUnit("seconds").register(meters);
+    }
+
+    private static Counter documents(MeterRegistry meters, String outcome) {
+        return Counter.builder("search.indexer.documents").tag("outcome", outcome).register(meters);
+    }
+
+    // After startup (and migrations), not in the constructor
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread t = new Thread(this::run, "search-indexer");
+        t.setDaemon(true);
+        worker = t;
+        t.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        Thread t = worker;
+        worker = null;
+        if (t != null)
+            t.interrupt();
+    }
+
+    private void run() {
+        int failures = 0;
+        while (worker == Thread.currentThread()) {
+            try {
+                Round round = drainOnce();
+                if (round.failure() != null) {
+                    failures++;
+                    long pause = backoff(failures - 1);
+                    log.warn("Search bulk request failed ({}), retrying in {} ms: {}", failures, pause,
+                            round.failure().getMessage());
+                    Thread.sleep(pause);
+                } else {
+                    // An empty round says nothing about the cluster: the failed rows may just not be due yet
+                    if (round.claimed() > 0)
+                        failures = 0;
+                    if (round.claimed() < batchSize.get())
+                        outbox.awaitWork(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Database trouble; claimed rows come due again when their lease runs out
+                log.warn("Search indexer round failed: {}", e.toString());
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Result of one round: rows claimed, and the request failure if one stopped it. */
+    record Round(int claimed, BulkRequestException failure) {
+    }
+
+    private record Claimed(long id, String index, String docId, int attempts, Timestamp createdAt) {
+    }
+
+    private record Key(String index, String docId) {
+    }
+
+    Round drainOnce() throws InterruptedException {
+        List<Claimed> rows = jdbc.query(CLAIM_SQL,
+                (rs, i) -> new Claimed(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+                        rs.getTimestamp(5)),
+                (double) leaseMs, batchSize.get());
+        if (rows.isEmpty()) {
+            lagMs.set(0);
+            return new Round(0, null);
+        }
+        long oldest = Long.MAX_VALUE;
+        Map<Key, List<Claimed>> byDoc = new LinkedHashMap<>();
+        for (Claimed r : rows) {
+            oldest = Math.min(oldest, r.createdAt().getTime());
+            byDoc.computeIfAbsent(new Key(r.index(), r.docId()), k -> new ArrayList<>()).add(r);
+        }
+        lagMs.set(Math.max(0, System.currentTimeMillis() - oldest));
+
+        Map<Key, ItemResult> results = new HashMap<>();
+        List<Action> actions = load(byDoc.keySet(), results);
+        BulkRequestException failure = null;
+        boolean throttled = false;
+        int throttledItems = 0;
+        int from = 0;
+        while (from < actions.size()) {
+            // At least one action, then as many as fit in max-bulk-bytes
+            int to = from;
+            long bytes = 0;
+            do {
+                bytes += size(actions.get(to++));
+            } while (to < actions.size() && bytes + size(actions.get(to)) <= maxBulkBytes);
+            List<Action> chunk = actions.subList(from, to);
+            try {
+                List<ItemResult> sent = send(chunk);
+                for (int i = 0; i < chunk.size(); i++) {
+                    ItemResult r = sent.get(i);
+                    if (r.status() == 429)
+                        throttledItems++;
+                    results.put(new Key(chunk.get(i).index(), chunk.get(i).id()), r);
+                }
+            } catch (BulkRequestException e) {
+                failure = e;
+                throttled |= e.throttled();
+                break;
+            }
+            from = to;
+        }
+        acknowledge(byDoc, results, failure, actions);
+        throttled |= throttledItems > 0 && throttledItems * 10 >= actions.size();
+        adjustBatchSize(throttled, failure == null && !throttled);
+        return new Round(rows.size(), failure);
+    }
+
+    // Action metadata line is under 128 bytes (index name + UUID)
+    private static long size(Action a) {
+        return 128 + (a.source() == null ? 0 : a.source().length + 1);
+    }
+
+    private List<ItemResult> send(List<Action> chunk) throws BulkRequestException, InterruptedException {
+        Timer.Sample sample = Timer.start();
+        try {
+            return client.send(chunk, client.body(chunk));
+        } catch (BulkRequestException e) {
+            throw e;
+        } catch (IOException e) {
+            // Unparseable response
+            throw new BulkRequestException(200, e.toString(), e);
+        } finally {
+            sample.stop(bulkTimer);
+        }
+    }
+
+    /**
+     * One action per document: index its current state, or delete it when
+     * its rows are gone. Documents that cannot be built go straight into
+     * {@code results} as rejected.
+     */
+    private List<Action> load(Iterable<Key> keys, Map<Key, ItemResult> results) {
+        List<String> resumeIds = new ArrayList<>();
+        for (Key k : keys) {
+            // Only resumes have a write path; job descriptions are not indexed (docs/search-indexing.md)
+            if (!SearchOutbox.RESUMES.equals(k.index())) {
+                results.put(k, new ItemResult(Outcome.REJECTED, 0, "index " + k.index() + " is not indexed"));
+                continue;
+            }
+            try {
+                UUID.fromString(k.docId());
+            } catch (IllegalArgumentException e) {
+                results.put(k, new ItemResult(Outcome.REJECTED, 0, "doc_id is not a UUID"));
+                continue;
+            }
+            resumeIds.add(k.docId());
+        }
+        Map<String, byte[]> sources = new HashMap<>();
+        if (!resumeIds.isEmpty())
+            loadResumes(resumeIds, sources, results);
+        List<Action> actions = new ArrayList<>();
+        for (Key k : keys) {
+            if (!results.containsKey(k))
+                actions.add(new Action(k.index(), k.docId(), sources.get(k.index() + "/" + k.docId())));
+        }
+        return actions;
+    }
+
+    private void loadResumes(List<String> ids, Map<String, byte[]> sources, Map<Key, ItemResult> results) {
+        jdbc.query(RESUMES_SQL, rs -> {
+            String id = rs.getString(1);
+            String uri = rs.getString(2);
+            byte[] blob = rs.getBytes(3);
+            String text;
+            try {
+                text = ResumeStore.isStoreUri(uri) ? resumes.readText(uri, maxTextBytes)
+                        : blob == null ? "" : ResumeStore.decodeTextPrefix(blob, maxTextBytes);
+            } catch (IOException e) {
+                results.put(new Key(SearchOutbox.RESUMES, id), new ItemResult(Outcome.REJECTED, 0,
+                        "Resume " + uri + " unreadable: " + e));
+                return;
+            }
+            // PDF, DOCX and other binary uploads: there is no text extractor, index the document without text
+            if (text == null)
+                text = "";
+            Map<String, Object> doc = new LinkedHashMap<>();
+            doc.put("id", id);
+            doc.put("application_id", id);
+            doc.put("text_content", text);
+            sources.put(SearchOutbox.RESUMES + "/" + id, toJson(doc));
+        }, maxTextBytes + 1, ids.toArray(new String[0]));
+    }
+
+    private byte[] toJson(Object doc) {
+        try {
+            return json.writeValueAsBytes(doc);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Deletes done rows, reschedules retryable ones, and parks rejected rows
+     * and rows out of attempts. Rows without an item result (their request
+     * failed, or was never sent after an earlier one failed) are released
+     * without counting an attempt; the loop's own backoff paces their retry.
+     */
+    private void acknowledge(Map<Key, List<Claimed>> byDoc, Map<Key, ItemResult> results,
+            BulkRequestException failure, List<Action> actions) {
+        Set<Key> deletes = new HashSet<>();
+        for (Action a : actions) {
+            if (a.source() == null)
+                deletes.add(new Key(a.index(), a.id()));
+        }
+        List<Object[]> done = new ArrayList<>();
+        List<Object[]> retry = new ArrayList<>();
+        List<Object[]> release = new ArrayList<>();
+        List<Object[]> park = new ArrayList<>();
+        for (Map.Entry<Key, List<Claimed>> e : byDoc.entrySet()) {
+            ItemResult r = results.get(e.getKey());
+            if (r == null) {
+                String error = truncate(failure == null ? "not sent" : failure.getMessage());
+                for (Claimed c : e.getValue())
+                    release.add(new Object[] { error, c.id() });
+                retried.increment();
+                continue;
+            }
+            for (Claimed c : e.getValue()) {
+                if (r.outcome() == Outcome.DONE) {
+                    done.add(new Object[] { c.id() });
+                } else if (r.outcome() == Outcome.REJECTED || c.attempts() + 1 >= maxAttempts) {
+                    park.add(new Object[] { truncate(r.error()), c.id() });
+                } else {
+                    retry.add(new Object[] { (double) backoff(c.attempts()), truncate(r.error()), c.id() });
+                }
+            }
+            switch (r.outcome()) {
+                case DONE -> (deletes.contains(e.getKey()) ? deleted : indexed).increment();
+                case RETRY -> retried.increment();
+                case REJECTED -> rejected.increment();
+            }
+        }
+        if (!done.isEmpty())
+            jdbc.batchUpdate(DONE_SQL, done);
+        if (!retry.isEmpty())
+            jdbc.batchUpdate(RETRY_SQL, retry);
+        if (!release.isEmpty())
+            jdbc.batchUpdate(RELEASE_SQL, release);
+        if (!park.isEmpty()) {
+            jdbc.batchUpdate(PARK_SQL, park);
+            log.warn("Parked {} search outbox rows, e.g. {}", park.size(), park.get(0)[0]);
+        }
+    }
+
+    // AIMD: halve when throttled, grow by a tenth of the maximum after a clean round
+    private void adjustBatchSize(boolean throttled, boolean clean) {
+        int floor = Math.max(1, Math.min(minBatchSize, maxBatchSize));
+        if (throttled)
+            batchSize.updateAndGet(n -> Math.max(floor, n / 2));
+        else if (clean)
+            batchSize.updateAndGet(n -> Math.min(maxBatchSize, n + Math.max(1, maxBatchSize / 10)));
+    }
+
+    /** initial-backoff-ms * 2^attempt, capped at max-backoff-ms, with up to 20% jitter. */
+    private long backoff(int attempt) {
+        long base = initialBackoffMs << Math.min(attempt, 30);
+        long capped = base <= 0 ? maxBackoffMs : Math.min(maxBackoffMs, base);
+        return capped + ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+    }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+}
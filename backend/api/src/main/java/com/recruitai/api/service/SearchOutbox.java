@@ -0,0 +1,66 @@
+package com.recruitai.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write side of the search outbox (table search_outbox, drained by
+ * {@link SearchIndexer}). Call {@link #enqueue} inside the transaction that
+ * changes the document's source rows: the row commits or rolls back with the
+ * change, and the caller never waits on Elasticsearch.
+ *
+ * With app.search.outbox.enabled=false (the default whenever the indexer is
+ * off) nothing is written, so an undrained table cannot grow without bound;
+ * backfill when turning indexing on (docs/search-indexing.md).
+ */
+@Service
+public class SearchOutbox {
+
+    /**
+     * Index name, as in responses/elasticsearch-mappings.json. The API has no
+     * job write path, so job_descriptions is not fed from here.
+     */
+    public static final String RESUMES = "resumes";
+
+    private static final String INSERT_SQL = "insert into search_outbox (index_name, doc_id) values (?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    // Lets a local indexer pick up new rows right after commit instead of at its next poll
+    private final Semaphore committed = new Semaphore(0);
+
+    public SearchOutbox(JdbcTemplate jdbc,
+            @Value("${app.search.outbox.enabled:${app.search.indexer.enabled:false}}") boolean enabled) {
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+    }
+
+    /** Marks a document for (re)indexing; it is deleted from the index if its rows are gone by then. */
+    public void enqueue(String index, Object docId) {
+        if (!enabled)
+            return;
+        jdbc.update(INSERT_SQL, index, docId.toString());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.release();
+                }
+            });
+        } else {
+            committed.release();
+        }
+    }
+
+    /** Waits until something is enqueued on this node, at most {@code timeoutMs}. */
+    void awaitWork(long timeoutMs) throws InterruptedException {
+        if (committed.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS))
+            committed.drainPermits();
+    }
+}
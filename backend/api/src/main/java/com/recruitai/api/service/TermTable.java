@@ -0,0 +1,143 @@
+package com.recruitai.api.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from term characters to dense ids (0, 1, 2, ...).
+ * Keys are looked up straight from a token buffer, so matching a token never
+ * creates a String. Term characters are stored back to back in one array.
+ *
+ * Not thread-safe; tables that are only read after being built may be shared.
+ */
+final class TermTable {
+
+    private char[] chars;
+    private int charsUsed;
+    private int[] offsets;
+    private int[] lengths;
+    private int[] hashes;
+    private int[] slots; // id + 1, 0 = empty
+    private int mask;
+    private int size;
+
+    TermTable(int expectedTerms) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedTerms) * 2 - 1) << 1;
+        slots = new int[capacity];
+        mask = capacity - 1;
+        offsets = new int[Math.max(8, expectedTerms)];
+        lengths = new int[offsets.length];
+        hashes = new int[offsets.length];
+        chars = new char[offsets.length * 8];
+    }
+
+    static int hash(char[] buf, int off, int len) {
+        int h = 0;
+        for (int i = off, end = off + len; i < end; i++)
+            h = 31 * h + buf[i];
+        return h;
+    }
+
+    static int hash(String s) {
+        return s.hashCode(); // same polynomial as above
+    }
+
+    /** Returns the term's id, or -1 if absent. */
+    int find(char[] buf, int off, int len, int hash) {
+        for (int i = spread(hash) & mask;; i = (i + 1) & mask) {
+            int id = slots[i] - 1;
+            if (id < 0)
+                return -1;
+            if (hashes[id] == hash && equals(id, buf, off, len))
+                return id;
+        }
+    }
+
+    /** Returns the term's id, adding it if absent. */
+    int add(char[] buf, int off, int len, int hash) {
+        int i = spread(hash) & mask;
+        for (;; i = (i + 1) & mask) {
+            int id = slots[i] - 1;
+            if (id < 0)
+                break;
+            if (hashes[id] == hash && equals(id, buf, off, len))
+                return id;
+        }
+        int id = size++;
+        if (id == offsets.length) {
+            int n = offsets.length * 2;
+            offsets = Arrays.copyOf(offsets, n);
+            lengths = Arrays.copyOf(lengths, n);
+            hashes = Arrays.copyOf(hashes, n);
+        }
+        if (charsUsed + len > chars.length)
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charsUsed + len));
+        System.arraycopy(buf, off, chars, charsUsed, len);
+        offsets[id] = charsUsed;
+        lengths[id] = len;
+        hashes[id] = hash;
+        charsUsed += len;
+        slots[i] = id + 1;
+        if (size * 2 > slots.length)
+            rehash();
+        return id;
+    }
+
+    int add(String term) {
+        char[] c = term.toCharArray();
+        return add(c, 0, c.length, hash(c, 0, c.length));
+    }
+
+    int size() {
+        return size;
+    }
+
+    char[] chars() {
+        return chars;
+    }
+
+    int offset(int id) {
+        return offsets[id];
+    }
+
+    int length(int id) {
+        return lengths[id];
+    }
+
+    int hash(int id) {
+        return hashes[id];
+    }
+
+    String term(int id) {
+        return new String(chars, offsets[id], lengths[id]);
+    }
+
+    /** Empties the table, keeping its arrays for reuse. */
+    void clear() {
+        if (size == 0)
+            return;
+        Arrays.fill(slots, 0);
+        size = 0;
+        charsUsed = 0;
+    }
+
+    private boolean equals(int id, char[] buf, int off, int len) {
+        return lengths[id] == len && Arrays.equals(chars, offsets[id], offsets[id] + len, buf, off, off + len);
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int i = spread(hashes[id]) & mask;
+            while (slots[i] != 0)
+                i = (i + 1) & mask;
+            slots[i] = id + 1;
+        }
+    }
+
+    // Polynomial hashes of similar short tokens share low bits; mix before masking
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,137 @@
+package com.recruitai.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitai.api.service.UserImportService.Format;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams import rows from CSV (header row naming username, email, password
+ * and optionally role; RFC 4180 quoting within a line) or NDJSON (one object
+ * per line). Rows that cannot be read come back with {@code error} set
+ * rather than aborting the import.
+ */
+class UserImportReader {
+
+    record Row(long line, String username, String email, String password, String role, String error) {
+    }
+
+    private final BufferedReader in;
+    private final Format format;
+    private final ObjectMapper json;
+    private long line;
+    private int usernameCol = -1;
+    private int emailCol = -1;
+    private int passwordCol = -1;
+    private int roleCol = -1;
+
+    UserImportReader(BufferedReader in, Format format, ObjectMapper json) throws IOException {
+        this.in = in;
+        this.format = format;
+        this.json = json;
+        if (format == Format.CSV)
+            readHeader();
+    }
+
+    /** Next row, or null at end of input. Blank lines are skipped. */
+    Row next() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null)
+                return null;
+            line++;
+        } while (text.isBlank());
+        return format == Format.CSV ? csvRow(text) : jsonRow(text);
+    }
+
+    private void readHeader() throws IOException {
+        String header = in.readLine();
+        line++;
+        if (header == null)
+            throw new IllegalArgumentException("CSV input is empty");
+        List<String> cols = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        if (cols == null)
+            throw new IllegalArgumentException("Malformed CSV header");
+        for (int i = 0; i < cols.size(); i++) {
+            switch (cols.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "username" -> usernameCol = i;
+                case "email" -> emailCol = i;
+                case "password" -> passwordCol = i;
+                case "role" -> roleCol = i;
+                default -> {
+                    // extra columns are ignored
+                }
+            }
+        }
+        if (usernameCol < 0 || emailCol < 0 || passwordCol < 0)
+            throw new IllegalArgumentException("CSV header must name username, email and password columns");
+    }
+
+    private Row csvRow(String text) {
+        List<String> cols = splitCsv(text);
+        if (cols == null)
+            return new Row(line, null, null, null, null, "Unterminated quoted field");
+        return new Row(line, col(cols, usernameCol), col(cols, emailCol), col(cols, passwordCol),
+                col(cols, roleCol), null);
+    }
+
+    private Row jsonRow(String text) {
+        try {
+            JsonNode node = json.readTree(text);
+            if (node == null || !node.isObject())
+                return new Row(line, null, null, null, null, "Expected a JSON object");
+            return new Row(line, text(node, "username"), text(node, "email"), text(node, "password"),
+                    text(node, "role"), null);
+        } catch (IOException e) {
+            return new Row(line, null, null, null, null, "Malformed JSON");
+        }
+    }
+
+    private static String col(List<String> cols, int i) {
+        return i >= 0 && i < cols.size() ? cols.get(i) : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v == null || v.isNull() ? null : v.asText();
+    }
+
+    // Returns null for an unterminated quote (fields spanning lines are not supported)
+    static List<String> splitCsv(String text) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else if (c != '\r') {
+                cur.append(c);
+            }
+        }
+        if (quoted)
+            return null;
+        out.add(cur.toString());
+        return out;
+    }
+}
@@ -0,0 +1,299 @@
+package com.recruitai.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitai.api.common.ApiError;
+import com.recruitai.api.dto.auth.SignupRequest;
+import com.recruitai.api.model.User;
+import com.recruitai.api.security.BulkPasswordHasher;
+import com.recruitai.api.service.UserImportReader.Row;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk user import. Works in chunks: validate rows, detect duplicates against
+ * the database with one set-based query per chunk (and against earlier rows of
+ * the same file in memory), hash the survivors across all cores, then insert
+ * them with one JDBC batch. Progress is written back as NDJSON after every
+ * chunk so the caller sees it while the upload is still being read.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String EXISTING_SQL = "select lower(username) as username, lower(email) as email from users "
+            + "where lower(username) in (:usernames) or lower(email) in (:emails)";
+    private static final String INSERT_SQL = "insert into users (id, username, email, password_hash, role, created_at) "
+            + "values (?, ?, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final BulkPasswordHasher hasher;
+    private final Validator validator;
+    private final ObjectMapper json;
+    // One import at a time: each already uses every core for hashing
+    private final Semaphore running = new Semaphore(1);
+    private final Counter imported;
+    private final Counter conflicts;
+    private final Counter invalid;
+
+    public UserImportService(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager txManager,
+            BulkPasswordHasher hasher, Validator validator, ObjectMapper json, MeterRegistry meters) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.hasher = hasher;
+        this.validator = validator;
+        this.json = json;
+        this.imported = rows(meters, "imported");
+        this.conflicts = rows(meters, "conflict");
+        this.invalid = rows(meters, "invalid");
+    }
+
+    private static Counter rows(MeterRegistry meters, String outcome) {
+        return Counter.builder("users.import.rows").tag("outcome", outcome).register(meters);
+    }
+
+    /**
+     * Imports every row of {@code in}, writing one NDJSON line per rejected row,
+     * a progress line per chunk and a final summary to {@code out}.
+     *
+     * @throws ImportInProgressException if another import is running
+     * @throws IllegalArgumentException  if the CSV header is missing or unusable
+     */
+    public void importUsers(InputStream in, Format format, OutputStream out) throws IOException {
+        if (!running.tryAcquire())
+            throw new ImportInProgressException();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            UserImportReader rows = new UserImportReader(reader, format, json);
+            try (JsonGenerator gen = json.getFactory().createGenerator(out)) {
+                gen.setRootValueSeparator(null);
+                new Run(rows, gen).execute();
+            }
+        } finally {
+            running.release();
+        }
+    }
+
+    private record Candidate(Row row, String username, String email, String password, User.Role role) {
+    }
+
+    /** State of one import; lives on the calling thread only. */
+    private final class Run {
+        private final UserImportReader rows;
+        private final JsonGenerator out;
+        private final long started = System.nanoTime();
+        // Lower-cased keys already accepted from this file
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private long processed;
+        private long importedCount;
+        private long conflictCount;
+        private long invalidCount;
+
+        Run(UserImportReader rows, JsonGenerator out) {
+            this.rows = rows;
+            this.out = out;
+        }
+
+        void execute() throws IOException {
+            try {
+                List<Candidate> chunk = new ArrayList<>(CHUNK_SIZE);
+                Row row;
+                while ((row = rows.next()) != null) {
+                    processed++;
+                    Candidate c = validate(row);
+                    if (c != null)
+                        chunk.add(c);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        importChunk(chunk);
+                        chunk.clear();
+                        summary("progress");
+                    }
+                }
+                if (!chunk.isEmpty())
+                    importChunk(chunk);
+                summary("done");
+            } catch (RuntimeException e) {
+                // Status and earlier lines are already sent; report the abort in-band
+                log.error("User import aborted after {} rows", processed, e);
+                summary("failed");
+            }
+        }
+
+        private Candidate validate(Row row) throws IOException {
+            if (row.error() != null)
+                return reject(row, "invalid", "INVALID_ROW", row.error());
+            SignupRequest req = new SignupRequest();
+            req.setUsername(row.username());
+            req.setEmail(row.email());
+            req.setPassword(row.password());
+            Set<ConstraintViolation<SignupRequest>> violations = validator.validate(req);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<SignupRequest> v = violations.iterator().next();
+                return reject(row, "invalid", "VALIDATION_ERROR", v.getPropertyPath() + ": " + v.getMessage());
+            }
+            User.Role role = User.Role.CANDIDATE;
+            if (row.role() != null && !row.role().isBlank()) {
+                String r = row.role().trim().toUpperCase(Locale.ROOT);
+                // Bulk import never creates admins
+                if (r.equals("CANDIDATE") || r.equals("RECRUITER"))
+                    role = User.Role.valueOf(r);
+                else
+                    return reject(row, "invalid", "VALIDATION_ERROR", "role: must be CANDIDATE or RECRUITER");
+            }
+            return new Candidate(row, req.getUsername(), req.getEmail(), req.getPassword(), role);
+        }
+
+        private void importChunk(List<Candidate> chunk) throws IOException {
+            Set<String> existingUsernames = new HashSet<>();
+            Set<String> existingEmails = new HashSet<>();
+            List<String> usernames = new ArrayList<>(chunk.size());
+            List<String> emails = new ArrayList<>(chunk.size());
+            for (Candidate c : chunk) {
+                usernames.add(c.username().toLowerCase(Locale.ROOT));
+                emails.add(c.email().toLowerCase(Locale.ROOT));
+            }
+            jdbc.query(EXISTING_SQL, new MapSqlParameterSource("usernames", usernames).addValue("emails", emails),
+                    (RowCallbackHandler) rs -> {
+                        existingUsernames.add(rs.getString("username"));
+                        existingEmails.add(rs.getString("email"));
+                    });
+
+            List<Candidate> accepted = new ArrayList<>(chunk.size());
+            for (Candidate c : chunk) {
+                // Compared lower-cased, like the lower(username) / lower(email) unique indexes
+                String u = c.username().toLowerCase(Locale.ROOT);
+                String e = c.email().toLowerCase(Locale.ROOT);
+                if (existingUsernames.contains(u) || seenUsernames.contains(u)) {
+                    reject(c.row(), "conflict", ApiError.USERNAME_TAKEN.name(), ApiError.USERNAME_TAKEN.message());
+                } else if (existingEmails.contains(e) || seenEmails.contains(e)) {
+                    reject(c.row(), "conflict", ApiError.EMAIL_TAKEN.name(), ApiError.EMAIL_TAKEN.message());
+                } else {
+                    seenUsernames.add(u);
+                    seenEmails.add(e);
+                    accepted.add(c);
+                }
+            }
+            if (accepted.isEmpty())
+                return;
+
+            List<String> passwords = new ArrayList<>(accepted.size());
+            for (Candidate c : accepted)
+                passwords.add(c.password());
+            List<String> hashes = hasher.encodeAll(passwords);
+
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            try {
+                tx.executeWithoutResult(s -> jdbc.getJdbcOperations().batchUpdate(INSERT_SQL,
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                bind(ps, accepted.get(i), hashes.get(i), now);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return accepted.size();
+                            }
+                        }));
+                importedCount += accepted.size();
+                imported.increment(accepted.size());
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent signup took a name after the check; the batch rolled
+                // back, so retry row by row to pin the conflict down
+                for (int i = 0; i < accepted.size(); i++) {
+                    Candidate c = accepted.get(i);
+                    String hash = hashes.get(i);
+                    try {
+                        tx.executeWithoutResult(s -> jdbc.getJdbcOperations()
+                                .update(INSERT_SQL, ps -> bind(ps, c, hash, now)));
+                        importedCount++;
+                        imported.increment();
+                    } catch (DataIntegrityViolationException dup) {
+                        reject(c.row(), "conflict", "ALREADY_EXISTS", "Username or email already exists");
+                    }
+                }
+            }
+        }
+
+        private void bind(PreparedStatement ps, Candidate c, String hash, OffsetDateTime now) throws SQLException {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setString(2, c.username());
+            ps.setString(3, c.email());
+            ps.setString(4, hash);
+            ps.setString(5, c.role().name());
+            ps.setObject(6, now);
+        }
+
+        private Candidate reject(Row row, String status, String code, String message) throws IOException {
+            if (status.equals("conflict")) {
+                conflictCount++;
+                conflicts.increment();
+            } else {
+                invalidCount++;
+                invalid.increment();
+            }
+            out.writeStartObject();
+            out.writeStringField("status", status);
+            out.writeNumberField("line", row.line());
+            if (row.username() != null)
+                out.writeStringField("username", row.username());
+            out.writeStringField("code", code);
+            out.writeStringField("message", message);
+            out.writeEndObject();
+            out.writeRaw('\n');
+            return null;
+        }
+
+        private void summary(String status) throws IOException {
+            out.writeStartObject();
+            out.writeStringField("status", status);
+            out.writeNumberField("processed", processed);
+            out.writeNumberField("imported", importedCount);
+            out.writeNumberField("conflicts", conflictCount);
+            out.writeNumberField("invalid", invalidCount);
+            out.writeNumberField("elapsedMs", (System.nanoTime() - started) / 1_000_000);
+            out.writeEndObject();
+            out.writeRaw('\n');
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- Users and refresh tokens as they existed before migrations (docker initdb /
+-- ddl-auto). IF NOT EXISTS throughout so databases created that way converge
+-- on this history instead of failing (see spring.flyway.baseline-* settings).
+
+CREATE TABLE IF NOT EXISTS users (
+  id UUID PRIMARY KEY,
+  username VARCHAR(64) NOT NULL,
+  email VARCHAR(256) NOT NULL,
+  password_hash VARCHAR(100) NOT NULL,
+  role VARCHAR(16) NOT NULL CHECK (role IN ('CANDIDATE','RECRUITER','ADMIN')),
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+  id UUID PRIMARY KEY,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  token_hash VARCHAR(256) NOT NULL UNIQUE,
+  expires_at TIMESTAMPTZ NOT NULL,
+  revoked BOOLEAN NOT NULL DEFAULT false,
+  family_id UUID NOT NULL,
+  replaced_by UUID NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
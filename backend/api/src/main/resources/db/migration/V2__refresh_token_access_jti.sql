@@ -0,0 +1,3 @@
+-- jti of the access token issued with each refresh token; lets logout and
+-- family revocation denylist it. Nullable, so this is a catalog-only change.
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS access_jti VARCHAR(64);
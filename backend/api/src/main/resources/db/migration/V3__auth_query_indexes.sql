@@ -0,0 +1,58 @@
+-- Indexes shaped by the queries the API actually runs. Built CONCURRENTLY so a
+-- rolling deploy against a large live table never blocks logins on a lock;
+-- Flyway runs these statements outside a transaction.
+
+-- A CONCURRENTLY build that fails (or is cancelled) leaves an INVALID index
+-- behind, and IF NOT EXISTS would then skip it on the next run. Drop any such
+-- leftover of ours first so a rerun actually builds it.
+DO $$
+DECLARE
+    leftover text;
+BEGIN
+    FOR leftover IN
+        SELECT c.relname FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE NOT i.indisvalid AND c.relnamespace = current_schema()::regnamespace
+          AND c.relname IN ('idx_users_username_lower', 'idx_users_email_lower',
+                            'idx_refresh_family_created', 'idx_refresh_user_created',
+                            'idx_refresh_expires', 'idx_refresh_revoked_created')
+    LOOP
+        RAISE NOTICE 'dropping invalid index % left by an earlier failed build', leftover;
+        EXECUTE format('DROP INDEX %I', leftover);
+    END LOOP;
+END $$;
+
+-- The lower() uniques below cannot build while two users differ only in case.
+-- Stop here with the names to fix instead of failing halfway through a build.
+-- The script runs outside a transaction, so a failed run needs flyway repair.
+DO $$
+DECLARE
+    dupes text;
+BEGIN
+    SELECT string_agg(k, ', ') INTO dupes FROM (
+        SELECT 'username ' || lower(username) AS k FROM users GROUP BY lower(username) HAVING count(*) > 1
+        UNION ALL
+        SELECT 'email ' || lower(email) FROM users GROUP BY lower(email) HAVING count(*) > 1
+        LIMIT 20
+    ) d;
+    IF dupes IS NOT NULL THEN
+        RAISE EXCEPTION 'users has case-insensitive duplicates (%); rename or merge them, run flyway repair, then migrate again', dupes;
+    END IF;
+END $$;
+
+-- UserRepository compares lower(username) / lower(email) only. These also make
+-- uniqueness case-insensitive; V4 drops the exact-case ones they supersede.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_lower ON users (lower(username));
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_lower ON users (lower(email));
+
+-- revokeFamily / revokeAllForUser filter on the leading column; the paired
+-- access-token lookups also range over created_at. The user_id prefix still
+-- covers the ON DELETE CASCADE foreign key.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_family_created ON refresh_tokens (family_id, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_user_created ON refresh_tokens (user_id, created_at);
+DROP INDEX CONCURRENTLY IF EXISTS idx_refresh_family;
+DROP INDEX CONCURRENTLY IF EXISTS idx_refresh_user;
+
+-- RefreshTokenReaper (delete mode): expired rows, plus revoked rows past retention
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_expires ON refresh_tokens (expires_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_revoked_created ON refresh_tokens (created_at) WHERE revoked;
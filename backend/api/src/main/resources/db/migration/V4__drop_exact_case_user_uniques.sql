@@ -0,0 +1,21 @@
+-- Exact-case uniqueness on users is implied by the lower() unique indexes from
+-- V3 and only costs index maintenance on every signup. Depending on how the
+-- database was created it exists as a constraint (ddl-auto, initdb column
+-- UNIQUE) or as a plain index (initdb), so try each form. Only once both
+-- replacements exist and are valid, so uniqueness is never left unenforced.
+DO $$
+BEGIN
+    IF (SELECT count(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE i.indisvalid AND c.relnamespace = current_schema()::regnamespace
+          AND c.relname IN ('idx_users_username_lower', 'idx_users_email_lower')) <> 2 THEN
+        RAISE EXCEPTION 'idx_users_username_lower / idx_users_email_lower are missing or INVALID; '
+            'not dropping the exact-case uniques';
+    END IF;
+END $$;
+
+ALTER TABLE users DROP CONSTRAINT IF EXISTS idx_users_username;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS idx_users_email;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_username_key;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+DROP INDEX IF EXISTS idx_users_username;
+DROP INDEX IF EXISTS idx_users_email;
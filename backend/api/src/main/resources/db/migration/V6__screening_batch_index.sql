@@ -0,0 +1,15 @@
+-- Batch screening pages through a job's not-yet-screened applications in id
+-- order (keyset). Partial, so it only holds the backlog and shrinks as
+-- applications are screened. CONCURRENTLY for the same reason as V3, and like
+-- V3 it first drops an INVALID leftover of an interrupted build.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE NOT i.indisvalid AND c.relnamespace = current_schema()::regnamespace
+                 AND c.relname = 'idx_applications_job_submitted') THEN
+        DROP INDEX idx_applications_job_submitted;
+    END IF;
+END $$;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_applications_job_submitted
+    ON applications (job_id, id) WHERE status = 'SUBMITTED';
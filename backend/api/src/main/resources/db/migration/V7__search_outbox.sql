@@ -0,0 +1,17 @@
+-- Transactional outbox for Elasticsearch indexing. A row says "this document
+-- changed" and is written in the same transaction as the change; SearchIndexer
+-- rebuilds the document from the current rows and sends it with _bulk, then
+-- deletes the outbox row. next_attempt_at doubles as the claim lease and the
+-- retry schedule; 'infinity' parks a row the cluster rejected (dead letter).
+CREATE TABLE IF NOT EXISTS search_outbox (
+  id BIGSERIAL PRIMARY KEY,
+  index_name TEXT NOT NULL CHECK (index_name IN ('resumes', 'job_descriptions')),
+  doc_id TEXT NOT NULL,
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  last_error TEXT,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- The table is new and empty, so no CONCURRENTLY is needed
+CREATE INDEX IF NOT EXISTS idx_search_outbox_due ON search_outbox (next_attempt_at, id);
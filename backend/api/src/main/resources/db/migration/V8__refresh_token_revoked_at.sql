@@ -0,0 +1,24 @@
+-- Revoked-token retention is measured from when a token was revoked, not when it
+-- was issued: a token revoked on day 6 of its 7-day life must still trigger
+-- family revocation on replay for the whole revoked-retention-hours (24 h by
+-- default) after that. Like V3 the index is built CONCURRENTLY,
+-- so Flyway runs this script outside a transaction.
+
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS revoked_at TIMESTAMPTZ;
+
+-- The revocation time of existing rows is unknown; start their retention now
+UPDATE refresh_tokens SET revoked_at = now() WHERE revoked AND revoked_at IS NULL;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE NOT i.indisvalid AND c.relnamespace = current_schema()::regnamespace
+                 AND c.relname = 'idx_refresh_revoked_at') THEN
+        RAISE NOTICE 'dropping invalid index idx_refresh_revoked_at left by an earlier failed build';
+        DROP INDEX idx_refresh_revoked_at;
+    END IF;
+END $$;
+
+-- RefreshTokenReaper: revoked rows past retention. Replaces V3's created_at key.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_revoked_at ON refresh_tokens (revoked_at) WHERE revoked;
+DROP INDEX CONCURRENTLY IF EXISTS idx_refresh_revoked_created;
@@ -0,0 +1,33 @@
+package com.recruitai.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the shaded jar. Same arguments as the stock JMH launcher
+ * (include regex, -f, -wi, -i, -p ...), but the GC profiler is always on so
+ * every result carries gc.alloc.rate.norm (bytes allocated per operation).
+ *
+ * <pre>
+ * mvn -pl benchmarks -am package
+ * java -jar benchmarks/target/benchmarks.jar            # everything
+ * java -jar benchmarks/target/benchmarks.jar Jwt -f 1   # one suite
+ * </pre>
+ */
+public final class BenchmarksMain {
+
+    private BenchmarksMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
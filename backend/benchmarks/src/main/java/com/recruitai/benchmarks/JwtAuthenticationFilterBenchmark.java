@@ -0,0 +1,76 @@
+package com.recruitai.benchmarks;
+
+import com.recruitai.api.model.User;
+import com.recruitai.api.repository.UserRepository;
+import com.recruitai.api.security.JwtAuthenticationFilter;
+import com.recruitai.api.security.JwtAuthenticationFilter.PrincipalSource;
+import com.recruitai.api.security.JwtService;
+import com.recruitai.api.security.UserSnapshotCache;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full JwtAuthenticationFilter pass per operation: header parse, token
+ * verification, principal resolution and SecurityContext population. The
+ * UserRepository is a Mockito mock, so "database" numbers exclude the real
+ * query and show only the in-process cost around it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    /** database = repository lookup per request; cached = snapshot cache; claims = no lookup. */
+    @Param({ "database", "cached", "claims" })
+    public String mode;
+
+    @Param({ "false", "true" })
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private final FilterChain chain = (req, res) -> {
+    };
+
+    @Setup
+    public void setup() {
+        JwtService jwt = new JwtService(JwtServiceBenchmark.SECRET, "recruitai", 15, tokenCache ? 10_000 : 0);
+        User user = new User("bench-user", "bench@example.com", "{bcrypt}unused", User.Role.CANDIDATE);
+
+        UserRepository users = Mockito.mock(UserRepository.class);
+        Mockito.when(users.findByUsernameOrEmailIgnoreCase("bench-user")).thenReturn(Optional.of(user));
+
+        UserSnapshotCache cache = new UserSnapshotCache("cached".equals(mode), 10_000, 300);
+        PrincipalSource source = "claims".equals(mode) ? PrincipalSource.CLAIMS : PrincipalSource.DATABASE;
+        filter = new JwtAuthenticationFilter(jwt, users, cache, source);
+
+        String token = jwt.generateToken(user.getUsername(), Map.of(
+                JwtAuthenticationFilter.CLAIM_ROLE, user.getRole().name(),
+                JwtAuthenticationFilter.CLAIM_USER_ID, user.getId().toString(),
+                JwtAuthenticationFilter.CLAIM_EMAIL, user.getEmail()));
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Object filterPass() throws Exception {
+        // OncePerRequestFilter marks the request as filtered; clear it so every
+        // invocation takes the full path
+        request.clearAttributes();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+}
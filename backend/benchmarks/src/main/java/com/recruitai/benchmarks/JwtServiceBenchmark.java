@@ -0,0 +1,87 @@
+package com.recruitai.benchmarks;
+
+import com.recruitai.api.security.JwtKeySet;
+import com.recruitai.api.security.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Access-token minting and verification per signing algorithm, with and without the verified-token cache. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Param({"HMAC", "RS256", "EdDSA"})
+    public JwtKeySet.Algorithm algorithm;
+
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+    private Map<String, Object> claims;
+
+    @Setup
+    public void setup() throws Exception {
+        JwtKeySet keys = algorithm == JwtKeySet.Algorithm.HMAC
+                ? JwtKeySet.hmac(SECRET)
+                : generate(algorithm);
+        uncached = new JwtService(keys, "recruitai", 15, 0);
+        cached = new JwtService(keys, "recruitai", 15, 10_000);
+        claims = Map.of("role", "CANDIDATE",
+                "uid", "3f2b1c7e-8a4d-4e55-9c1a-0d6f2e9b7a11",
+                "email", "bench@example.com");
+        token = uncached.generateToken("bench-user", claims);
+    }
+
+    // A fresh pair in the key-directory layout (docs/jwt-keys.md), loaded the way the api loads it
+    static JwtKeySet generate(JwtKeySet.Algorithm algorithm) throws Exception {
+        KeyPairGenerator gen = KeyPairGenerator.getInstance(algorithm == JwtKeySet.Algorithm.RS256 ? "RSA" : "Ed25519");
+        if (algorithm == JwtKeySet.Algorithm.RS256)
+            gen.initialize(2048);
+        KeyPair pair = gen.generateKeyPair();
+        Path dir = Files.createTempDirectory("jwt-bench-keys");
+        Path privateKey = Files.writeString(dir.resolve("bench.key.pem"),
+                pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+        Path publicKey = Files.writeString(dir.resolve("bench.pub.pem"),
+                pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+        try {
+            return JwtKeySet.fromDirectory(algorithm, dir, "bench", null);
+        } finally {
+            Files.delete(privateKey);
+            Files.delete(publicKey);
+            Files.delete(dir);
+        }
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken("bench-user", claims);
+    }
+
+    @Benchmark
+    public Claims parseAndValidate() {
+        return uncached.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public Claims parseAndValidateCached() {
+        return cached.parseAndValidate(token);
+    }
+}
@@ -0,0 +1,122 @@
+package com.recruitai.benchmarks;
+
+import com.recruitai.api.service.KeywordIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round 1 keyword scoring of one resume against one JD: the precompiled
+ * KeywordIndex path versus the straightforward approach of tokenizing both
+ * texts into Strings and overlapping boxed TF maps on every run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordScoringBenchmark {
+
+    // Words per resume; JDs are a fifth of that
+    @Param({"600", "2000"})
+    public int resumeWords;
+
+    private String jd;
+    private List<String> skills;
+    private String[] resumes;
+    private int next;
+    private KeywordIndex index;
+    private KeywordIndex.CompiledJd compiled;
+    private KeywordIndex.Scorer scorer;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        String[] vocabulary = vocabulary(rnd, 20_000);
+        jd = text(rnd, vocabulary, resumeWords / 5);
+        skills = List.of("Java", "Spring Boot", "PostgreSQL", "Kubernetes", "C++");
+        resumes = new String[64];
+        index = new KeywordIndex(0.5, 2.0, 500_000, 0);
+        for (int i = 0; i < resumes.length; i++) {
+            resumes[i] = text(rnd, vocabulary, resumeWords);
+            index.addDocument(resumes[i]);
+        }
+        compiled = index.compile(jd, skills);
+        scorer = index.newScorer();
+    }
+
+    @Benchmark
+    public double compiledScore() {
+        return scorer.score(compiled, nextResume());
+    }
+
+    @Benchmark
+    public double naiveScore() {
+        Map<String, Double> jdTf = termFrequencies(jd);
+        for (String s : skills)
+            termFrequencies(s).keySet().forEach(t -> jdTf.merge(t, 2.0, Double::sum));
+        Map<String, Double> resumeTf = termFrequencies(nextResume());
+        double overlap = 0;
+        double total = 0;
+        for (Map.Entry<String, Double> e : jdTf.entrySet()) {
+            total += e.getValue();
+            Double tf = resumeTf.get(e.getKey());
+            if (tf != null)
+                overlap += e.getValue() * (tf / (tf + 0.5));
+        }
+        return total == 0 ? 0 : overlap / total;
+    }
+
+    @Benchmark
+    public KeywordIndex.CompiledJd compileJd() {
+        return index.compile(jd, skills);
+    }
+
+    @Benchmark
+    public void addDocument() {
+        index.addDocument(nextResume());
+    }
+
+    private String nextResume() {
+        return resumes[next++ & (resumes.length - 1)];
+    }
+
+    private static Map<String, Double> termFrequencies(String text) {
+        Map<String, Double> tf = new HashMap<>();
+        for (String t : text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#.]+")) {
+            if (t.length() > 1)
+                tf.merge(t, 1.0, Double::sum);
+        }
+        return tf;
+    }
+
+    // Zipf-ish: a few very common words, a long tail of rare ones (like real resumes)
+    private static String text(SplittableRandom rnd, String[] vocabulary, int words) {
+        StringBuilder sb = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            int w = (int) Math.min(vocabulary.length - 1, Math.floor(Math.pow(vocabulary.length, rnd.nextDouble())) - 1);
+            sb.append(vocabulary[w]).append(i % 12 == 11 ? ". " : " ");
+        }
+        return sb.toString();
+    }
+
+    private static String[] vocabulary(SplittableRandom rnd, int size) {
+        List<String> words = new ArrayList<>(size);
+        words.addAll(List.of("Java", "Spring", "Boot", "PostgreSQL", "Kubernetes", "C++", "Node.js", "React"));
+        while (words.size() < size) {
+            int len = 3 + rnd.nextInt(8);
+            StringBuilder w = new StringBuilder(len);
+            for (int i = 0; i < len; i++)
+                w.append((char) ('a' + rnd.nextInt(26)));
+            words.add(w.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+}
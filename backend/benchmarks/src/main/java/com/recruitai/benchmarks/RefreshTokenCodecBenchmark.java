@@ -0,0 +1,40 @@
+package com.recruitai.benchmarks;
+
+import com.recruitai.api.service.RefreshTokenCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Raw refresh-token generation and hashing used by AuthService on every login/refresh. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RefreshTokenCodecBenchmark {
+
+    private String raw;
+
+    @Setup
+    public void setup() {
+        raw = RefreshTokenCodec.randomToken();
+    }
+
+    @Benchmark
+    public String randomToken() {
+        return RefreshTokenCodec.randomToken();
+    }
+
+    // Contended case: all benchmark threads drawing tokens at once
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String randomTokenContended() {
+        return RefreshTokenCodec.randomToken();
+    }
+
+    @Benchmark
+    public String sha256B64() {
+        return RefreshTokenCodec.sha256B64(raw);
+    }
+}
@@ -0,0 +1,233 @@
+package com.recruitai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.recruitai.api.RecruitAiApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end auth throughput regression suite.
+ *
+ * Boots the api application in-process against H2 (PostgreSQL mode, profile
+ * "loadtest"), drives the signup/login/refresh/logout/me mix from many
+ * concurrent clients, prints throughput and p50/p95/p99 per endpoint and
+ * compares them with a stored baseline. Exits non-zero on regression.
+ * The baseline is scaled by a {@link HostCalibration} taken before each run;
+ * a baseline from a different CPU count or architecture fails the run unless
+ * --allow-host-mismatch is given. Baselines are per host and not committed:
+ * with --record-missing-baseline, a run that finds none records it instead.
+ *
+ * <pre>
+ * mvn -Pload-test -pl loadtest -am verify
+ * java -jar loadtest/target/loadtest-0.0.1-SNAPSHOT.jar --baseline=loadtest/baseline.json
+ * java -jar loadtest/target/loadtest-0.0.1-SNAPSHOT.jar --baseline=loadtest/baseline.json --update-baseline
+ * </pre>
+ *
+ * Options: --clients=64 --duration=30 --warmup=10 (seconds) --tolerance=0.25
+ * --max-error-rate=0.01 --results=target/loadtest-results.json --allow-host-mismatch
+ * --record-missing-baseline
+ */
+public final class AuthLoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private AuthLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        System.exit(run(opts) ? 0 : 1);
+    }
+
+    static boolean run(Map<String, String> opts) throws Exception {
+        int clients = Integer.parseInt(opts.getOrDefault("clients", "64"));
+        int durationSec = Integer.parseInt(opts.getOrDefault("duration", "30"));
+        int warmupSec = Integer.parseInt(opts.getOrDefault("warmup", "10"));
+        double tolerance = Double.parseDouble(opts.getOrDefault("tolerance", "0.25"));
+        double maxErrorRate = Double.parseDouble(opts.getOrDefault("max-error-rate", "0.01"));
+        String baselinePath = opts.get("baseline");
+        String resultsPath = opts.getOrDefault("results", "target/loadtest-results.json");
+
+        // Before the application starts, so nothing else competes for the CPU
+        HostCalibration host = HostCalibration.measure();
+        System.out.printf("Host calibration: %.0f ops/s on %d cpus%n", host.score, host.cpus);
+
+        SpringApplication app = new SpringApplication(RecruitAiApiApplication.class);
+        app.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext ctx = app.run()) {
+            String port = ctx.getEnvironment().getProperty("local.server.port");
+            String base = "http://127.0.0.1:" + port + "/api";
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            long now = System.nanoTime();
+            long measureFrom = now + warmupSec * 1_000_000_000L;
+            long deadline = measureFrom + durationSec * 1_000_000_000L;
+            List<VirtualUser> users = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                VirtualUser u = new VirtualUser(http, base, i, measureFrom, deadline);
+                users.add(u);
+                Thread t = new Thread(u, "load-client-" + i);
+                threads.add(t);
+                t.start();
+            }
+            for (Thread t : threads)
+                t.join();
+
+            Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+            for (Endpoint e : Endpoint.values())
+                merged.put(e, new LatencyRecorder());
+            for (VirtualUser u : users)
+                u.recorders.forEach((e, r) -> merged.get(e).merge(r));
+
+            ObjectNode results = summarize(merged, clients, durationSec);
+            host.writeTo(results);
+            File out = new File(resultsPath);
+            if (out.getParentFile() != null)
+                out.getParentFile().mkdirs();
+            JSON.writeValue(out, results);
+            System.out.println(JSON.writeValueAsString(results));
+
+            if (opts.containsKey("update-baseline") && baselinePath != null) {
+                JSON.writeValue(new File(baselinePath), results);
+                System.out.println("Baseline updated: " + baselinePath);
+                return true;
+            }
+            // First run on this host: nothing to compare with, so a clean run becomes the baseline
+            if (opts.containsKey("record-missing-baseline") && baselinePath != null
+                    && !new File(baselinePath).isFile()) {
+                if (!errorRateOk(results, maxErrorRate))
+                    return false;
+                JSON.writeValue(new File(baselinePath), results);
+                System.out.printf("PASS (no baseline yet; recorded this run on %d cpus (%s) as %s)%n", host.cpus,
+                        host.arch, baselinePath);
+                return true;
+            }
+            return check(results, host, baselinePath, tolerance, maxErrorRate,
+                    opts.containsKey("allow-host-mismatch"));
+        }
+    }
+
+    private static ObjectNode summarize(Map<Endpoint, LatencyRecorder> merged, int clients, int durationSec) {
+        ObjectNode root = JSON.createObjectNode();
+        root.put("clients", clients);
+        root.put("durationSeconds", durationSec);
+        long ok = 0;
+        long errors = 0;
+        ObjectNode eps = root.putObject("endpoints");
+        for (Map.Entry<Endpoint, LatencyRecorder> en : merged.entrySet()) {
+            LatencyRecorder r = en.getValue();
+            double[] p = r.percentilesMillis(0.50, 0.95, 0.99);
+            ObjectNode n = eps.putObject(en.getKey().name());
+            n.put("requests", r.count());
+            n.put("errors", r.errors());
+            n.put("throughput", round(r.count() / (double) durationSec));
+            n.put("p50", round(p[0]));
+            n.put("p95", round(p[1]));
+            n.put("p99", round(p[2]));
+            ok += r.count();
+            errors += r.errors();
+        }
+        root.put("throughput", round(ok / (double) durationSec));
+        root.put("errorRate", ok + errors == 0 ? 0 : round(errors / (double) (ok + errors)));
+        return root;
+    }
+
+    private static boolean check(ObjectNode results, HostCalibration host, String baselinePath, double tolerance,
+            double maxErrorRate, boolean allowHostMismatch) throws Exception {
+        boolean pass = errorRateOk(results, maxErrorRate);
+        if (baselinePath == null) {
+            System.out.println(pass ? "PASS (error rate only, no --baseline given)" : "FAIL");
+            return pass;
+        }
+        if (!new File(baselinePath).isFile()) {
+            System.out.println("FAIL: no baseline at " + baselinePath + "; run with --update-baseline to record one");
+            return false;
+        }
+        JsonNode baseline = JSON.readTree(new File(baselinePath));
+        HostCalibration recordedOn = HostCalibration.from(baseline.path("host"));
+        if (recordedOn == null) {
+            System.out.println("FAIL: baseline has no host calibration; re-record it with --update-baseline");
+            return false;
+        }
+        if (!recordedOn.comparableTo(host)) {
+            System.out.printf("Baseline was recorded on %d cpus (%s), this host has %d (%s)%n", recordedOn.cpus,
+                    recordedOn.arch, host.cpus, host.arch);
+            if (!allowHostMismatch) {
+                System.out.println("FAIL: baseline not comparable; re-record it here with --update-baseline, "
+                        + "or pass --allow-host-mismatch to scale it by host speed anyway");
+                return false;
+            }
+        }
+        // >1 when this host is currently faster than the one that recorded the baseline
+        double speed = host.score / recordedOn.score;
+        System.out.printf("Scaling baseline by host speed %.2f (%.0f vs %.0f ops/s)%n", speed, host.score,
+                recordedOn.score);
+        pass &= within("total throughput", results.path("throughput").asDouble(),
+                baseline.path("throughput").asDouble() * speed, tolerance, true);
+        JsonNode eps = baseline.path("endpoints");
+        for (Endpoint e : Endpoint.values()) {
+            JsonNode b = eps.path(e.name());
+            JsonNode r = results.path("endpoints").path(e.name());
+            if (b.isMissingNode())
+                continue;
+            pass &= within(e + " throughput", r.path("throughput").asDouble(),
+                    b.path("throughput").asDouble() * speed, tolerance, true);
+            pass &= within(e + " p99", r.path("p99").asDouble(), b.path("p99").asDouble() / speed, tolerance,
+                    false);
+        }
+        System.out.println(pass ? "PASS" : "FAIL: regression against " + baselinePath);
+        return pass;
+    }
+
+    private static boolean errorRateOk(ObjectNode results, double maxErrorRate) {
+        double errorRate = results.path("errorRate").asDouble();
+        if (errorRate <= maxErrorRate)
+            return true;
+        System.out.printf("FAIL error rate %.4f > %.4f%n", errorRate, maxErrorRate);
+        return false;
+    }
+
+    private static boolean within(String what, double actual, double base, double tolerance, boolean higherIsBetter) {
+        if (base <= 0)
+            return true;
+        boolean ok = higherIsBetter ? actual >= base * (1 - tolerance) : actual <= base * (1 + tolerance);
+        if (!ok)
+            System.out.printf("FAIL %s: %.2f vs scaled baseline %.2f (tolerance %.0f%%)%n", what, actual, base,
+                    tolerance * 100);
+        return ok;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--"))
+                continue;
+            int eq = a.indexOf('=');
+            if (eq < 0)
+                opts.put(a.substring(2), "true");
+            else
+                opts.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,242 @@
+package com.recruitai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for Elasticsearch's _bulk API, for exercising the api's
+ * SearchIndexer without a cluster. It keeps the last source per index/id in
+ * memory and can be slowed down or made to fail:
+ * <ul>
+ * <li>--latency-ms: added to every _bulk request (a slow cluster)</li>
+ * <li>--throttle-rate: fraction of _bulk requests answered 429</li>
+ * <li>--fail-rate: fraction of _bulk requests answered 503</li>
+ * <li>--item-reject-rate: fraction of items answered 429
+ * (es_rejected_execution_exception) inside a 200 response</li>
+ * <li>--item-error-rate: fraction of items answered 400
+ * (mapper_parsing_exception), which retrying does not fix</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp loadtest/target/loadtest-0.0.1-SNAPSHOT.jar \
+ *   -Dloader.main=com.recruitai.loadtest.BulkStubServer \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher \
+ *   --port=9200 --latency-ms=2000 --item-reject-rate=0.2
+ * </pre>
+ *
+ * GET /{index}/_count answers {"count": n}; GET /_stub/stats has request and
+ * item counters. Tests start it with {@link #start(int)} and change the rates
+ * between requests.
+ */
+public final class BulkStubServer {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Map<String, Map<String, Integer>> indexes = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong rejectedItems = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile long latencyMs;
+    private volatile double throttleRate;
+    private volatile double failRate;
+    private volatile double itemRejectRate;
+    private volatile double itemErrorRate;
+
+    private BulkStubServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        // Slow requests must not hold up the others
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            if (a.startsWith("--") && a.contains("="))
+                opts.put(a.substring(2, a.indexOf('=')), a.substring(a.indexOf('=') + 1));
+        }
+        BulkStubServer stub = start(Integer.parseInt(opts.getOrDefault("port", "9200")));
+        stub.setLatencyMs(Long.parseLong(opts.getOrDefault("latency-ms", "0")));
+        stub.setThrottleRate(Double.parseDouble(opts.getOrDefault("throttle-rate", "0")));
+        stub.setFailRate(Double.parseDouble(opts.getOrDefault("fail-rate", "0")));
+        stub.setItemRejectRate(Double.parseDouble(opts.getOrDefault("item-reject-rate", "0")));
+        stub.setItemErrorRate(Double.parseDouble(opts.getOrDefault("item-error-rate", "0")));
+        System.out.printf("Bulk stub on %s (latency %s ms, throttle %s, fail %s, item reject %s, item error %s)%n",
+                stub.url(), stub.latencyMs, stub.throttleRate, stub.failRate, stub.itemRejectRate,
+                stub.itemErrorRate);
+    }
+
+    /** Starts a stub that accepts everything, on 127.0.0.1:{@code port} (0: any free port). */
+    public static BulkStubServer start(int port) throws IOException {
+        BulkStubServer stub = new BulkStubServer(port);
+        stub.server.start();
+        return stub;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setThrottleRate(double throttleRate) {
+        this.throttleRate = throttleRate;
+    }
+
+    public void setFailRate(double failRate) {
+        this.failRate = failRate;
+    }
+
+    public void setItemRejectRate(double itemRejectRate) {
+        this.itemRejectRate = itemRejectRate;
+    }
+
+    public void setItemErrorRate(double itemErrorRate) {
+        this.itemErrorRate = itemErrorRate;
+    }
+
+    /** _bulk requests received, failed ones included. */
+    public long requests() {
+        return requests.get();
+    }
+
+    /** Items received in _bulk requests that were not failed as a whole. */
+    public long items() {
+        return items.get();
+    }
+
+    /** Documents currently stored in {@code index}. */
+    public int documents(String index) {
+        return indexes.getOrDefault(index, Map.of()).size();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            String path = ex.getRequestURI().getPath();
+            if ("POST".equals(ex.getRequestMethod()) && path.equals("/_bulk")) {
+                bulk(ex);
+            } else if (path.equals("/_stub/stats")) {
+                ObjectNode stats = JSON.createObjectNode();
+                stats.put("requests", requests.get());
+                stats.put("failedRequests", failedRequests.get());
+                stats.put("items", items.get());
+                stats.put("rejectedItems", rejectedItems.get());
+                indexes.forEach((index, docs) -> stats.put("docs." + index, docs.size()));
+                respond(ex, 200, JSON.writeValueAsBytes(stats));
+            } else if (path.endsWith("/_count")) {
+                String index = path.substring(1, path.length() - "/_count".length());
+                int count = documents(index);
+                respond(ex, 200, ("{\"count\":" + count + "}").getBytes(StandardCharsets.UTF_8));
+            } else {
+                respond(ex, 404, "{}".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private void bulk(HttpExchange ex) throws IOException {
+        requests.incrementAndGet();
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        double draw = rnd.nextDouble();
+        if (draw < throttleRate + failRate) {
+            failedRequests.incrementAndGet();
+            ex.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            int status = draw < throttleRate ? 429 : 503;
+            respond(ex, status, "{\"error\":\"stub\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        ArrayNode results = JSON.createArrayNode();
+        boolean errors = false;
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(ex.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank())
+                    continue;
+                JsonNode action = JSON.readTree(line);
+                String op = action.fieldNames().next();
+                JsonNode meta = action.get(op);
+                String index = meta.path("_index").asText();
+                String id = meta.path("_id").asText();
+                String source = op.equals("delete") ? null : in.readLine();
+                items.incrementAndGet();
+                ObjectNode item = JSON.createObjectNode();
+                ObjectNode r = item.putObject(op);
+                r.put("_index", index);
+                r.put("_id", id);
+                double itemDraw = rnd.nextDouble();
+                if (itemDraw < itemRejectRate) {
+                    rejectedItems.incrementAndGet();
+                    errors = true;
+                    r.put("status", 429);
+                    r.putObject("error").put("type", "es_rejected_execution_exception")
+                            .put("reason", "stub: queue full");
+                } else if (itemDraw < itemRejectRate + itemErrorRate) {
+                    rejectedItems.incrementAndGet();
+                    errors = true;
+                    r.put("status", 400);
+                    r.putObject("error").put("type", "mapper_parsing_exception")
+                            .put("reason", "stub: failed to parse");
+                } else if (source == null) {
+                    Map<String, Integer> docs = indexes.get(index);
+                    boolean found = docs != null && docs.remove(id) != null;
+                    r.put("status", found ? 200 : 404);
+                    r.put("result", found ? "deleted" : "not_found");
+                } else {
+                    JSON.readTree(source); // Malformed JSON fails the request, as in Elasticsearch
+                    Integer previous = indexes.computeIfAbsent(index, k -> new ConcurrentHashMap<>())
+                            .put(id, source.length());
+                    r.put("status", previous == null ? 201 : 200);
+                    r.put("result", previous == null ? "created" : "updated");
+                }
+                results.add(item);
+            }
+        }
+        ObjectNode body = JSON.createObjectNode();
+        body.put("took", latencyMs);
+        body.put("errors", errors);
+        body.set("items", results);
+        respond(ex, 200, JSON.writeValueAsBytes(body));
+    }
+
+    private static void respond(HttpExchange ex, int status, byte[] body) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        ex.getResponseBody().write(body);
+    }
+}
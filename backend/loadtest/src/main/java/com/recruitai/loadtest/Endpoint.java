@@ -0,0 +1,22 @@
+package com.recruitai.loadtest;
+
+/** Operations in the load mix, with their share of iterations (weights sum to 100). */
+enum Endpoint {
+    SIGNUP(2), LOGIN(15), REFRESH(20), LOGOUT(5), ME(58);
+
+    final int weight;
+
+    Endpoint(int weight) {
+        this.weight = weight;
+    }
+
+    static Endpoint pick(int roll) {
+        int acc = 0;
+        for (Endpoint e : values()) {
+            acc += e.weight;
+            if (roll < acc)
+                return e;
+        }
+        return ME;
+    }
+}
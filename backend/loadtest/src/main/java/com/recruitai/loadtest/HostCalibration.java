@@ -0,0 +1,91 @@
+package com.recruitai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Speed of the machine a run happens on, so a baseline recorded elsewhere, or
+ * on the same box while it was less loaded, still compares.
+ *
+ * A fixed single-threaded workload (SHA-256 plus small JSON documents, the
+ * CPU mix of the auth pipeline) runs before the application boots. The best of
+ * several short rounds is kept, which filters out a busy neighbour for a moment.
+ * AuthLoadTest scales the baseline's throughput and latency by the ratio of
+ * the two scores. A different CPU count or architecture cannot be scaled away
+ * reliably, so such a baseline fails the run unless --allow-host-mismatch is
+ * given.
+ */
+final class HostCalibration {
+
+    private static final int ROUNDS = 7;
+    private static final long ROUND_NANOS = 400_000_000L;
+
+    // Keeps the JIT from discarding the digests
+    private static volatile long blackhole;
+
+    final int cpus;
+    final String arch;
+    final String java;
+    final double score;
+
+    private HostCalibration(int cpus, String arch, String java, double score) {
+        this.cpus = cpus;
+        this.arch = arch;
+        this.java = java;
+        this.score = score;
+    }
+
+    static HostCalibration measure() throws Exception {
+        MessageDigest sha = MessageDigest.getInstance("SHA-256");
+        ObjectMapper json = new ObjectMapper();
+        byte[] block = new byte[1024];
+        Arrays.fill(block, (byte) 'x');
+        double best = 0;
+        long sink = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            long ops = 0;
+            long elapsed;
+            do {
+                for (int i = 0; i < 64; i++) {
+                    ObjectNode doc = json.createObjectNode();
+                    doc.put("sub", ops + i);
+                    doc.put("role", "CANDIDATE");
+                    sha.update(block);
+                    sha.update(json.writeValueAsBytes(doc));
+                    sink += sha.digest()[0];
+                }
+                ops += 64;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < ROUND_NANOS);
+            best = Math.max(best, ops * 1e9 / elapsed);
+        }
+        blackhole = sink;
+        return new HostCalibration(Runtime.getRuntime().availableProcessors(),
+                System.getProperty("os.arch"), System.getProperty("java.version"), Math.round(best));
+    }
+
+    static HostCalibration from(JsonNode host) {
+        if (host.isMissingNode() || host.path("score").asDouble() <= 0)
+            return null;
+        return new HostCalibration(host.path("cpus").asInt(), host.path("arch").asText(),
+                host.path("java").asText(), host.path("score").asDouble());
+    }
+
+    void writeTo(ObjectNode root) {
+        ObjectNode host = root.putObject("host");
+        host.put("cpus", cpus);
+        host.put("arch", arch);
+        host.put("java", java);
+        host.put("score", score);
+    }
+
+    // Same CPU count and architecture: throughput differences are per-core speed and load
+    boolean comparableTo(HostCalibration other) {
+        return cpus == other.cpus && arch.equals(other.arch);
+    }
+}
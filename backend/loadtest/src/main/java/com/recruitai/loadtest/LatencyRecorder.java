@@ -0,0 +1,53 @@
+package com.recruitai.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Per-client latency samples for one endpoint. Each client owns its own
+ * recorder (no sharing while the run is hot); recorders are merged at the end.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long latencyNanos, boolean ok) {
+        if (!ok) {
+            errors++;
+            return;
+        }
+        if (count == nanos.length)
+            nanos = Arrays.copyOf(nanos, count * 2);
+        nanos[count++] = latencyNanos;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > nanos.length)
+            nanos = Arrays.copyOf(nanos, count + other.count);
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /** Percentiles in milliseconds; sorts the samples in place. */
+    double[] percentilesMillis(double... ps) {
+        Arrays.sort(nanos, 0, count);
+        double[] out = new double[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            if (count == 0)
+                continue;
+            int idx = (int) Math.min(count - 1, Math.ceil(ps[i] * count) - 1);
+            out[i] = nanos[Math.max(0, idx)] / 1_000_000.0;
+        }
+        return out;
+    }
+}
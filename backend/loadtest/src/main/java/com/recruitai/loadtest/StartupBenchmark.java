@@ -0,0 +1,271 @@
+package com.recruitai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start comparison of the api build variants. Each run launches a fresh
+ * process and records:
+ * <ul>
+ * <li>readyMs: process start until GET /.well-known/jwks.json answers (no
+ * database involved), i.e. when a load balancer could route to it</li>
+ * <li>firstRequestMs: the first POST /api/auth/signup (filters, validation,
+ * JPA, BCrypt, JWT signing, Jackson all on cold code paths)</li>
+ * <li>secondRequestMs: the same request again, for the warm-path reference</li>
+ * <li>rssMb: resident memory after the two requests (Linux only)</li>
+ * </ul>
+ *
+ * Variants: {@code jar} (the regular executable jar), {@code aot-cds}
+ * (mvn -Pfast-startup output) and {@code native} (mvn -Pnative output);
+ * variants whose artifact is missing are skipped. The api runs with its own
+ * configuration, so it needs a reachable PostgreSQL (pass --app-args).
+ *
+ * <pre>
+ * mvn -Pfast-startup -pl loadtest -am package -DskipTests
+ * java -cp loadtest/target/loadtest-0.0.1-SNAPSHOT.jar \
+ *   -Dloader.main=com.recruitai.loadtest.StartupBenchmark \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher \
+ *   --runs=5 --app-args="--spring.datasource.url=jdbc:postgresql://localhost:5432/recruitai"
+ * </pre>
+ *
+ * Options: --runs=5 --warmup-runs=1 (per variant, discarded) --timeout=120
+ * (seconds) --variants=jar,aot-cds,native --java=java
+ * --jar=api/target/api-0.0.1-SNAPSHOT-exec.jar --fast-startup-dir=api/target/fast-startup
+ * --native=api/target/recruitai-api --results=target/startup-results.json
+ */
+public final class StartupBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String[] METRICS = { "readyMs", "firstRequestMs", "secondRequestMs", "rssMb" };
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        System.exit(run(opts) ? 0 : 1);
+    }
+
+    static boolean run(Map<String, String> opts) throws Exception {
+        int runs = Integer.parseInt(opts.getOrDefault("runs", "5"));
+        int warmupRuns = Integer.parseInt(opts.getOrDefault("warmup-runs", "1"));
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(opts.getOrDefault("timeout", "120")));
+        String resultsPath = opts.getOrDefault("results", "target/startup-results.json");
+        List<String> appArgs = split(opts.getOrDefault("app-args", ""));
+
+        Map<String, Variant> variants = variants(opts);
+        if (variants.isEmpty()) {
+            System.out.println("No build variants found; build the api module first");
+            return false;
+        }
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        File logDir = new File(new File(resultsPath).getAbsoluteFile().getParentFile(), "startup-logs");
+        logDir.mkdirs();
+
+        ObjectNode results = JSON.createObjectNode();
+        results.put("runs", runs);
+        ObjectNode out = results.putObject("variants");
+        boolean pass = true;
+        for (Map.Entry<String, Variant> v : variants.entrySet()) {
+            Map<String, double[]> samples = new LinkedHashMap<>();
+            for (String m : METRICS)
+                samples.put(m, new double[runs]);
+            for (int i = -warmupRuns; i < runs; i++) {
+                File log = new File(logDir, v.getKey() + "-" + (i < 0 ? "warmup" + (-i) : String.valueOf(i)) + ".log");
+                double[] r = launch(http, v.getValue(), appArgs, log, timeoutNanos);
+                if (r == null) {
+                    System.out.printf("FAIL %s: not ready within the timeout, see %s%n", v.getKey(), log);
+                    pass = false;
+                    break;
+                }
+                if (Files.readString(log.toPath()).contains("Unable to use shared archive"))
+                    System.out.printf("WARN %s: CDS archive not used (JDK or classpath differs from the training run)%n",
+                            v.getKey());
+                if (i >= 0) {
+                    for (int m = 0; m < METRICS.length; m++)
+                        samples.get(METRICS[m])[i] = r[m];
+                }
+            }
+            ObjectNode n = out.putObject(v.getKey());
+            n.put("command", String.join(" ", v.getValue().command()));
+            samples.forEach((m, s) -> {
+                double[] sorted = s.clone();
+                Arrays.sort(sorted);
+                ObjectNode mn = n.putObject(m);
+                mn.put("median", round(sorted[sorted.length / 2]));
+                mn.put("min", round(sorted[0]));
+                mn.put("max", round(sorted[sorted.length - 1]));
+            });
+        }
+
+        File file = new File(resultsPath);
+        if (file.getParentFile() != null)
+            file.getParentFile().mkdirs();
+        JSON.writeValue(file, results);
+        System.out.println(JSON.writeValueAsString(results));
+        printTable(out);
+        return pass;
+    }
+
+    private record Variant(List<String> command, File dir) {
+    }
+
+    private static Map<String, Variant> variants(Map<String, String> opts) throws IOException {
+        String java = opts.getOrDefault("java", "java");
+        List<String> wanted = Arrays.asList(opts.getOrDefault("variants", "jar,aot-cds,native").split(","));
+        Map<String, Variant> variants = new LinkedHashMap<>();
+
+        File jar = new File(opts.getOrDefault("jar", "api/target/api-0.0.1-SNAPSHOT-exec.jar"));
+        if (wanted.contains("jar") && jar.isFile())
+            variants.put("jar", new Variant(List.of(java, "-jar", jar.getAbsolutePath()), null));
+
+        // The archive records the classpath of the training run (lib/... relative
+        // to its working directory); started from anywhere else the JVM silently
+        // runs without it
+        File dir = new File(opts.getOrDefault("fast-startup-dir", "api/target/fast-startup")).getAbsoluteFile();
+        if (wanted.contains("aot-cds") && new File(dir, "application.jsa").isFile()) {
+            try (var files = Files.list(dir.toPath())) {
+                Path appJar = files.filter(p -> p.toString().endsWith(".jar")).findFirst().orElse(null);
+                if (appJar != null)
+                    variants.put("aot-cds", new Variant(List.of(java, "-XX:SharedArchiveFile=application.jsa",
+                            "-Dspring.aot.enabled=true", "-jar", appJar.getFileName().toString()), dir));
+            }
+        }
+
+        File nativeImage = new File(opts.getOrDefault("native", "api/target/recruitai-api"));
+        if (wanted.contains("native") && nativeImage.canExecute())
+            variants.put("native", new Variant(List.of(nativeImage.getAbsolutePath()), null));
+        return variants;
+    }
+
+    // Returns {readyMs, firstRequestMs, secondRequestMs, rssMb}, or null if the
+    // process never became ready
+    private static double[] launch(HttpClient http, Variant variant, List<String> appArgs, File log,
+            long timeoutNanos) throws Exception {
+        int port = freePort();
+        List<String> cmd = new ArrayList<>(variant.command());
+        cmd.addAll(appArgs);
+        cmd.add("--server.port=" + port);
+        String base = "http://127.0.0.1:" + port;
+
+        long start = System.nanoTime();
+        Process p = new ProcessBuilder(cmd).directory(variant.dir())
+                .redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            HttpRequest probe = HttpRequest.newBuilder(URI.create(base + "/.well-known/jwks.json"))
+                    .timeout(Duration.ofSeconds(1)).GET().build();
+            long ready = -1;
+            while (ready < 0 && System.nanoTime() - start < timeoutNanos && p.isAlive()) {
+                try {
+                    if (http.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                        ready = System.nanoTime();
+                } catch (IOException e) {
+                    Thread.sleep(5);
+                }
+            }
+            if (ready < 0)
+                return null;
+
+            double first = signup(http, base, port, 0);
+            double second = signup(http, base, port, 1);
+            return new double[] { (ready - start) / 1e6, first, second, rssMb(p.pid()) };
+        } finally {
+            p.destroy();
+            if (!p.waitFor(30, TimeUnit.SECONDS))
+                p.destroyForcibly().waitFor();
+        }
+    }
+
+    private static double signup(HttpClient http, String base, int port, int n) throws Exception {
+        String username = "sb" + Long.toString(System.currentTimeMillis(), 36) + port + "x" + n;
+        String body = "{\"username\":\"" + username + "\",\"email\":\"" + username
+                + "@startup.test\",\"password\":\"Startup-Password-1\"}";
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/api/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<Void> res = http.send(req, HttpResponse.BodyHandlers.discarding());
+        double ms = (System.nanoTime() - start) / 1e6;
+        if (res.statusCode() != 201)
+            throw new IllegalStateException("Signup returned " + res.statusCode());
+        return ms;
+    }
+
+    private static double rssMb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:"))
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024.0;
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+
+    private static void printTable(ObjectNode variants) {
+        System.out.printf("%n%-10s %12s %16s %17s %8s%n", "variant", "ready (ms)", "1st request (ms)",
+                "2nd request (ms)", "RSS (MB)");
+        variants.fields().forEachRemaining(e -> System.out.printf("%-10s %12.0f %16.1f %17.1f %8.0f%n", e.getKey(),
+                e.getValue().path("readyMs").path("median").asDouble(),
+                e.getValue().path("firstRequestMs").path("median").asDouble(),
+                e.getValue().path("secondRequestMs").path("median").asDouble(),
+                e.getValue().path("rssMb").path("median").asDouble()));
+    }
+
+    private static List<String> split(String args) {
+        List<String> out = new ArrayList<>();
+        for (String a : args.trim().split("\\s+")) {
+            if (!a.isEmpty())
+                out.add(a);
+        }
+        return out;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--"))
+                continue;
+            int eq = a.indexOf('=');
+            if (eq < 0)
+                opts.put(a.substring(2), "true");
+            else
+                opts.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+        return opts;
+    }
+}
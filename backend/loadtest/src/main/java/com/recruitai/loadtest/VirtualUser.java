@@ -0,0 +1,123 @@
+package com.recruitai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One simulated SPA session: signs up, then loops over the weighted endpoint
+ * mix until the deadline, keeping its own access/refresh token pair.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String PASSWORD = "LoadTest-Password-1";
+
+    private final HttpClient http;
+    private final String base;
+    private final String prefix;
+    private final long measureFromNanos;
+    private final long deadlineNanos;
+    private final SplittableRandom rnd;
+    final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+
+    private int identities;
+    private String username;
+    private String accessToken;
+    private String refreshToken;
+
+    VirtualUser(HttpClient http, String base, int id, long measureFromNanos, long deadlineNanos) {
+        this.http = http;
+        this.base = base;
+        this.prefix = "lt" + id + "x";
+        this.measureFromNanos = measureFromNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.rnd = new SplittableRandom(id);
+        for (Endpoint e : Endpoint.values())
+            recorders.put(e, new LatencyRecorder());
+    }
+
+    @Override
+    public void run() {
+        exec(Endpoint.SIGNUP);
+        while (System.nanoTime() < deadlineNanos) {
+            Endpoint e = accessToken == null ? Endpoint.LOGIN : Endpoint.pick(rnd.nextInt(100));
+            exec(e);
+        }
+    }
+
+    private void exec(Endpoint e) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = switch (e) {
+                case SIGNUP -> signup();
+                case LOGIN -> login();
+                case REFRESH -> refresh();
+                case LOGOUT -> logout();
+                case ME -> me();
+            };
+        } catch (Exception ex) {
+            ok = false;
+        }
+        if (start >= measureFromNanos)
+            recorders.get(e).record(System.nanoTime() - start, ok);
+    }
+
+    private boolean signup() throws Exception {
+        username = prefix + (identities++);
+        String body = "{\"username\":\"" + username + "\",\"email\":\"" + username
+                + "@load.test\",\"password\":\"" + PASSWORD + "\"}";
+        return tokens(post("/auth/signup", body), 201);
+    }
+
+    private boolean login() throws Exception {
+        String body = "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+        return tokens(post("/auth/login", body), 200);
+    }
+
+    private boolean refresh() throws Exception {
+        return tokens(post("/auth/refresh", "{\"refreshToken\":\"" + refreshToken + "\"}"), 200);
+    }
+
+    private boolean logout() throws Exception {
+        HttpResponse<String> res = post("/auth/logout", "{\"refreshToken\":\"" + refreshToken + "\"}");
+        accessToken = null;
+        refreshToken = null;
+        return res.statusCode() == 204;
+    }
+
+    private boolean me() throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/users/me"))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET().build();
+        return http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private boolean tokens(HttpResponse<String> res, int expected) throws Exception {
+        if (res.statusCode() != expected) {
+            // Lost session (e.g. refresh rejected): log in again on the next iteration
+            accessToken = null;
+            return false;
+        }
+        JsonNode n = JSON.readTree(res.body());
+        accessToken = n.path("accessToken").asText(null);
+        refreshToken = n.path("refreshToken").asText(null);
+        return accessToken != null && refreshToken != null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.recruitai.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitai.api.service.ElasticBulkClient.Action;
+import com.recruitai.api.service.ElasticBulkClient.BulkRequestException;
+import com.recruitai.api.service.ElasticBulkClient.ItemResult;
+import com.recruitai.api.service.ElasticBulkClient.Outcome;
+import com.recruitai.loadtest.BulkStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * ElasticBulkClient against BulkStubServer: how each _bulk response, item
+ * error and transport failure is classified.
+ */
+class ElasticBulkClientTest {
+
+    private BulkStubServer stub;
+    private ElasticBulkClient client;
+
+    @BeforeEach
+    void start() throws Exception {
+        stub = BulkStubServer.start(0);
+        client = new ElasticBulkClient(stub.url() + "/", "", Duration.ofSeconds(1), Duration.ofMillis(500),
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    void stop() {
+        stub.stop();
+    }
+
+    @Test
+    void indexesUpdatesAndDeletesDocuments() throws Exception {
+        List<Action> index = List.of(index("a"), index("b"));
+        assertThat(send(index)).extracting(ItemResult::outcome, ItemResult::status)
+                .containsOnly(tuple(Outcome.DONE, 201));
+        assertThat(send(List.of(index("a")))).extracting(ItemResult::status).containsExactly(200);
+        assertThat(stub.documents("resumes")).isEqualTo(2);
+
+        // Deleting a document that is already gone is done too
+        List<ItemResult> deleted = send(List.of(delete("a"), delete("missing")));
+        assertThat(deleted).extracting(ItemResult::outcome).containsExactly(Outcome.DONE, Outcome.DONE);
+        assertThat(deleted).extracting(ItemResult::status).containsExactly(200, 404);
+        assertThat(stub.documents("resumes")).isEqualTo(1);
+    }
+
+    @Test
+    void throttledItemsAreRetriedAndOtherItemErrorsRejected() throws Exception {
+        stub.setItemRejectRate(1);
+        ItemResult throttled = send(List.of(index("a"))).get(0);
+        assertThat(throttled.outcome()).isEqualTo(Outcome.RETRY);
+        assertThat(throttled.status()).isEqualTo(429);
+        assertThat(throttled.error()).contains("es_rejected_execution_exception");
+
+        stub.setItemRejectRate(0);
+        stub.setItemErrorRate(1);
+        ItemResult rejected = send(List.of(index("a"))).get(0);
+        assertThat(rejected.outcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(rejected.status()).isEqualTo(400);
+        assertThat(rejected.error()).contains("mapper_parsing_exception");
+        assertThat(stub.documents("resumes")).isZero();
+    }
+
+    @Test
+    void failedRequestsCarryTheirStatus() throws Exception {
+        stub.setThrottleRate(1);
+        BulkRequestException throttled = failure(List.of(index("a")));
+        assertThat(throttled.status()).isEqualTo(429);
+        assertThat(throttled.throttled()).isTrue();
+
+        stub.setThrottleRate(0);
+        stub.setFailRate(1);
+        BulkRequestException unavailable = failure(List.of(index("a")));
+        assertThat(unavailable.status()).isEqualTo(503);
+        assertThat(unavailable.throttled()).isFalse();
+    }
+
+    @Test
+    void timeoutAndRefusedConnectionHaveNoStatus() throws Exception {
+        stub.setLatencyMs(2000);
+        assertThat(failure(List.of(index("a"))).status()).isZero();
+
+        stub.stop();
+        assertThat(failure(List.of(index("a"))).status()).isZero();
+    }
+
+    private List<ItemResult> send(List<Action> actions) throws Exception {
+        return client.send(actions, client.body(actions));
+    }
+
+    private BulkRequestException failure(List<Action> actions) {
+        return catchThrowableOfType(() -> send(actions), BulkRequestException.class);
+    }
+
+    private static Action index(String id) {
+        return new Action(SearchOutbox.RESUMES, id,
+                ("{\"id\":\"" + id + "\",\"text_content\":\"resume " + id + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Action delete(String id) {
+        return new Action(SearchOutbox.RESUMES, id, null);
+    }
+}
@@ -0,0 +1,159 @@
+package com.recruitai.api.service;
+
+import org.h2.tools.SimpleResultSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * search_outbox and the resume rows of applications, in memory, behind the
+ * JdbcTemplate calls SearchIndexer makes. Its statements are PostgreSQL-only
+ * (UPDATE ... FROM ... RETURNING, SKIP LOCKED, intervals) and H2 cannot run
+ * them, so each one is recognised by its text and answered the way
+ * PostgreSQL would. Single-threaded, like the indexer loop.
+ */
+final class InMemoryOutboxJdbc extends JdbcTemplate {
+
+    static final long PARKED = Long.MAX_VALUE;
+
+    static final class Row {
+        final long id;
+        final String index;
+        final String docId;
+        final Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        int attempts;
+        long nextAttemptAt;
+        String lastError;
+
+        Row(long id, String index, String docId) {
+            this.id = id;
+            this.index = index;
+            this.docId = docId;
+        }
+
+        boolean due() {
+            return nextAttemptAt <= System.currentTimeMillis();
+        }
+    }
+
+    final Map<Long, Row> outbox = new TreeMap<>();
+    // Application id -> resume_blob (rows without a store URI)
+    final Map<String, String> resumes = new HashMap<>();
+    private long nextId = 1;
+
+    Row enqueue(String index, String docId) {
+        Row r = new Row(nextId++, index, docId);
+        outbox.put(r.id, r);
+        return r;
+    }
+
+    /** Ends every retry backoff now, as if it had been waited out. */
+    void makeDue() {
+        for (Row r : outbox.values()) {
+            if (r.nextAttemptAt != PARKED)
+                r.nextAttemptAt = 0;
+        }
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+        if (!sql.startsWith("update search_outbox o set next_attempt_at"))
+            throw new UnsupportedOperationException(sql);
+        long now = System.currentTimeMillis();
+        long lease = (long) (double) (Double) args[0];
+        int limit = (Integer) args[1];
+        List<Row> due = outbox.values().stream()
+                .filter(Row::due)
+                .sorted(Comparator.comparingLong((Row r) -> r.nextAttemptAt).thenComparingLong(r -> r.id))
+                .limit(limit)
+                .toList();
+        SimpleResultSet rs = new SimpleResultSet();
+        rs.addColumn("id", Types.BIGINT, 19, 0);
+        rs.addColumn("index_name", Types.VARCHAR, 64, 0);
+        rs.addColumn("doc_id", Types.VARCHAR, 64, 0);
+        rs.addColumn("attempts", Types.INTEGER, 10, 0);
+        rs.addColumn("created_at", Types.TIMESTAMP, 26, 6);
+        for (Row r : due) {
+            r.nextAttemptAt = now + lease;
+            rs.addRow(r.id, r.index, r.docId, r.attempts, r.createdAt);
+        }
+        return map(rs, rowMapper);
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler rch, Object... args) {
+        if (!sql.startsWith("select id, resume_uri"))
+            throw new UnsupportedOperationException(sql);
+        int maxBytes = (Integer) args[0];
+        SimpleResultSet rs = new SimpleResultSet();
+        rs.addColumn("id", Types.VARCHAR, 36, 0);
+        rs.addColumn("resume_uri", Types.VARCHAR, 128, 0);
+        rs.addColumn("resume_blob", Types.VARBINARY, Integer.MAX_VALUE, 0);
+        for (String id : (String[]) args[1]) {
+            String text = resumes.get(id);
+            if (text == null)
+                continue;
+            byte[] blob = text.getBytes(StandardCharsets.UTF_8);
+            rs.addRow(id, null, Arrays.copyOf(blob, Math.min(blob.length, maxBytes)));
+        }
+        try {
+            while (rs.next())
+                rch.processRow(rs);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+        long now = System.currentTimeMillis();
+        for (Object[] a : batchArgs) {
+            if (sql.startsWith("delete from search_outbox")) {
+                outbox.remove((Long) a[0]);
+            } else if (sql.contains("'infinity'")) {
+                Row r = outbox.get((Long) a[1]);
+                r.attempts++;
+                r.nextAttemptAt = PARKED;
+                r.lastError = (String) a[0];
+            } else if (sql.contains("attempts = attempts + 1")) {
+                Row r = outbox.get((Long) a[2]);
+                r.attempts++;
+                r.nextAttemptAt = now + (long) (double) (Double) a[0];
+                r.lastError = (String) a[1];
+            } else if (sql.startsWith("update search_outbox set next_attempt_at = now(), last_error")) {
+                Row r = outbox.get((Long) a[1]);
+                r.nextAttemptAt = now;
+                r.lastError = (String) a[0];
+            } else {
+                throw new UnsupportedOperationException(sql);
+            }
+        }
+        int[] counts = new int[batchArgs.size()];
+        Arrays.fill(counts, 1);
+        return counts;
+    }
+
+    private static <T> List<T> map(ResultSet rs, RowMapper<T> rowMapper) {
+        List<T> out = new ArrayList<>();
+        try {
+            while (rs.next())
+                out.add(rowMapper.mapRow(rs, out.size()));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,201 @@
+package com.recruitai.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitai.api.service.InMemoryOutboxJdbc.Row;
+import com.recruitai.loadtest.BulkStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One SearchIndexer round at a time against BulkStubServer: which outbox rows
+ * are deleted, retried with backoff, parked, or released without using an
+ * attempt, and how the batch size follows throttling (AIMD).
+ */
+class SearchIndexerTest {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MIN_BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MS = 60_000;
+
+    @TempDir
+    Path resumeDir;
+
+    private BulkStubServer stub;
+    private InMemoryOutboxJdbc jdbc;
+    private SimpleMeterRegistry meters;
+    private SearchIndexer indexer;
+
+    @BeforeEach
+    void start() throws Exception {
+        stub = BulkStubServer.start(0);
+        jdbc = new InMemoryOutboxJdbc();
+        meters = new SimpleMeterRegistry();
+        ObjectMapper json = new ObjectMapper();
+        ResumeStore resumes = new ResumeStore(resumeDir.toString(), meters);
+        indexer = new SearchIndexer(jdbc, new SearchOutbox(jdbc, false), resumes, json, meters, stub.url(), "", 1000,
+                5000, BATCH_SIZE);
+        // Spring sets these; the defaults of application.yml except for the short retry budget
+        ReflectionTestUtils.setField(indexer, "minBatchSize", MIN_BATCH_SIZE);
+        ReflectionTestUtils.setField(indexer, "maxBulkBytes", 5 * 1024 * 1024);
+        ReflectionTestUtils.setField(indexer, "pollIntervalMs", 1000L);
+        ReflectionTestUtils.setField(indexer, "initialBackoffMs", INITIAL_BACKOFF_MS);
+        ReflectionTestUtils.setField(indexer, "maxBackoffMs", 10 * INITIAL_BACKOFF_MS);
+        ReflectionTestUtils.setField(indexer, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(indexer, "maxTextBytes", 1024 * 1024);
+    }
+
+    @AfterEach
+    void stop() {
+        stub.stop();
+    }
+
+    @Test
+    void indexesDocumentsAndDeletesTheirRows() throws Exception {
+        String twice = resume();
+        for (int i = 0; i < 20; i++)
+            jdbc.enqueue(SearchOutbox.RESUMES, resume());
+        jdbc.enqueue(SearchOutbox.RESUMES, twice);
+        jdbc.enqueue(SearchOutbox.RESUMES, twice);
+        // The application is gone: its document is deleted from the index
+        jdbc.enqueue(SearchOutbox.RESUMES, UUID.randomUUID().toString());
+
+        SearchIndexer.Round round = indexer.drainOnce();
+
+        assertThat(round.claimed()).isEqualTo(23);
+        assertThat(round.failure()).isNull();
+        assertThat(jdbc.outbox).isEmpty();
+        // Two rows of one document are one action
+        assertThat(stub.items()).isEqualTo(22);
+        assertThat(stub.documents(SearchOutbox.RESUMES)).isEqualTo(21);
+        assertThat(documents("indexed")).isEqualTo(21);
+        assertThat(documents("deleted")).isEqualTo(1);
+    }
+
+    @Test
+    void throttledRequestReleasesRowsWithoutAnAttemptAndHalvesTheBatch() throws Exception {
+        for (int i = 0; i < 2 * BATCH_SIZE; i++)
+            jdbc.enqueue(SearchOutbox.RESUMES, resume());
+        stub.setThrottleRate(1);
+
+        SearchIndexer.Round round = indexer.drainOnce();
+
+        assertThat(round.claimed()).isEqualTo(BATCH_SIZE);
+        assertThat(round.failure().status()).isEqualTo(429);
+        assertThat(jdbc.outbox.values()).allSatisfy(r -> {
+            assertThat(r.attempts).isZero();
+            assertThat(r.due()).isTrue();
+        });
+        assertThat(batchSize()).isEqualTo(BATCH_SIZE / 2);
+
+        // Halved again each throttled round, down to min-batch-size
+        assertThat(indexer.drainOnce().claimed()).isEqualTo(BATCH_SIZE / 2);
+        indexer.drainOnce();
+        indexer.drainOnce();
+        assertThat(batchSize()).isEqualTo(MIN_BATCH_SIZE);
+        assertThat(stub.documents(SearchOutbox.RESUMES)).isZero();
+
+        // Then grown by a tenth of the maximum per clean round
+        stub.setThrottleRate(0);
+        assertThat(indexer.drainOnce().failure()).isNull();
+        assertThat(batchSize()).isEqualTo(MIN_BATCH_SIZE + BATCH_SIZE / 10);
+        assertThat(jdbc.outbox).hasSize(2 * BATCH_SIZE - MIN_BATCH_SIZE);
+    }
+
+    @Test
+    void failedRequestReleasesRowsAndKeepsTheBatchSize() throws Exception {
+        Row row = jdbc.enqueue(SearchOutbox.RESUMES, resume());
+        stub.setFailRate(1);
+
+        SearchIndexer.Round round = indexer.drainOnce();
+
+        assertThat(round.failure().status()).isEqualTo(503);
+        assertThat(row.attempts).isZero();
+        assertThat(row.due()).isTrue();
+        assertThat(row.lastError).isEqualTo("HTTP 503");
+        assertThat(batchSize()).isEqualTo(BATCH_SIZE);
+
+        // The loop's own backoff paces the retry; once the cluster is back the row goes through
+        stub.setFailRate(0);
+        assertThat(indexer.drainOnce().failure()).isNull();
+        assertThat(jdbc.outbox).isEmpty();
+    }
+
+    @Test
+    void throttledItemsAreRetriedWithBackoffUntilParked() throws Exception {
+        Row row = jdbc.enqueue(SearchOutbox.RESUMES, resume());
+        stub.setItemRejectRate(1);
+
+        long before = System.currentTimeMillis();
+        SearchIndexer.Round round = indexer.drainOnce();
+
+        assertThat(round.failure()).isNull();
+        assertThat(row.attempts).isEqualTo(1);
+        assertThat(row.nextAttemptAt).isGreaterThanOrEqualTo(before + INITIAL_BACKOFF_MS);
+        assertThat(row.lastError).contains("429 es_rejected_execution_exception");
+        // Every item throttled: well past a tenth of the round
+        assertThat(batchSize()).isEqualTo(BATCH_SIZE / 2);
+
+        // Not due until the backoff is over
+        assertThat(indexer.drainOnce().claimed()).isZero();
+
+        for (int attempt = 2; attempt <= MAX_ATTEMPTS; attempt++) {
+            jdbc.makeDue();
+            indexer.drainOnce();
+            assertThat(row.attempts).isEqualTo(attempt);
+        }
+        assertThat(row.nextAttemptAt).isEqualTo(InMemoryOutboxJdbc.PARKED);
+        assertThat(documents("retried")).isEqualTo(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void rejectedItemsAreParkedAtOnce() throws Exception {
+        Row row = jdbc.enqueue(SearchOutbox.RESUMES, resume());
+        stub.setItemErrorRate(1);
+
+        indexer.drainOnce();
+
+        assertThat(row.attempts).isEqualTo(1);
+        assertThat(row.nextAttemptAt).isEqualTo(InMemoryOutboxJdbc.PARKED);
+        assertThat(row.lastError).contains("400 mapper_parsing_exception");
+        assertThat(documents("rejected")).isEqualTo(1);
+        // A mapping error is not backpressure
+        assertThat(batchSize()).isEqualTo(BATCH_SIZE);
+    }
+
+    @Test
+    void documentsThatCannotBeBuiltAreParkedWithoutBeingSent() throws Exception {
+        Row badId = jdbc.enqueue(SearchOutbox.RESUMES, "not-a-uuid");
+        Row otherIndex = jdbc.enqueue("job_descriptions", UUID.randomUUID().toString());
+
+        indexer.drainOnce();
+
+        assertThat(stub.requests()).isZero();
+        assertThat(badId.nextAttemptAt).isEqualTo(InMemoryOutboxJdbc.PARKED);
+        assertThat(badId.lastError).isEqualTo("doc_id is not a UUID");
+        assertThat(otherIndex.nextAttemptAt).isEqualTo(InMemoryOutboxJdbc.PARKED);
+    }
+
+    private String resume() {
+        String id = UUID.randomUUID().toString();
+        jdbc.resumes.put(id, "Java developer, Spring Boot and PostgreSQL. " + id);
+        return id;
+    }
+
+    private int batchSize() {
+        return (int) meters.get("search.indexer.batch.size").gauge().value();
+    }
+
+    private long documents(String outcome) {
+        return (long) meters.get("search.indexer.documents").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.recruitai.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/** Blocking client for the /api/auth endpoints, shared by the concurrency tests. */
+final class AuthApi {
+
+    static final String PASSWORD = "Concurrency-Password-1";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String base;
+
+    AuthApi(int port) {
+        this.base = "http://127.0.0.1:" + port + "/api";
+    }
+
+    record Tokens(String accessToken, String refreshToken) {
+    }
+
+    Tokens signup(String username) throws IOException, InterruptedException {
+        HttpResponse<String> res = post("/auth/signup", "{\"username\":\"" + username + "\",\"email\":\""
+                + username + "@concurrency.test\",\"password\":\"" + PASSWORD + "\"}");
+        if (res.statusCode() != 201)
+            throw new IllegalStateException("signup " + username + ": " + res.statusCode() + " " + res.body());
+        return tokens(res);
+    }
+
+    HttpResponse<String> login(String usernameOrEmail) throws IOException, InterruptedException {
+        return login(usernameOrEmail, PASSWORD);
+    }
+
+    HttpResponse<String> login(String usernameOrEmail, String password) throws IOException, InterruptedException {
+        return post("/auth/login", "{\"usernameOrEmail\":\"" + usernameOrEmail + "\",\"password\":\"" + password
+                + "\"}");
+    }
+
+    HttpResponse<String> refresh(String refreshToken) throws IOException, InterruptedException {
+        return post("/auth/refresh", "{\"refreshToken\":\"" + refreshToken + "\"}");
+    }
+
+    int me(String accessToken) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/users/me"))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET().build();
+        return http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    static Tokens tokens(HttpResponse<String> res) throws IOException {
+        JsonNode n = JSON.readTree(res.body());
+        return new Tokens(n.path("accessToken").asText(null), n.path("refreshToken").asText(null));
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(base + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.recruitai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recruitai.api.RecruitAiApiApplication;
+import com.recruitai.api.service.RefreshTokenCodec;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many logins at once for many users: every response must carry tokens of the
+ * user who logged in, never another request's refresh token. The achieved
+ * login rate is logged and checked against a floor that scales with the
+ * CPU count.
+ */
+// A stalled CPU (one core, GC) must not turn a queued login into a 503: this
+// test is about whose tokens come back, not about load shedding
+@SpringBootTest(classes = RecruitAiApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.security.password-hashing.max-wait-ms=60000")
+@ActiveProfiles("loadtest")
+class ConcurrentLoginTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentLoginTest.class);
+
+    private static final int USERS = 40;
+    private static final int LOGINS_PER_USER = 10;
+    // Below the profile's hashing queue capacity, so no login is turned away with 503
+    private static final int CLIENTS = 64;
+    // Each login here is a full HTTP round trip, a BCrypt check and a refresh-token insert, and the
+    // 64 clients share the CPU with the server. A cold single-core run does 55-80/s; 30 per CPU
+    // leaves room for a noisy CI box. The floor scales with the CPU count, so a serialized issuance
+    // path fails it on multi-core hosts. It is a floor, not the target: hold a known multi-core host
+    // to its measured rate with -Dconcurrent-login.min-rate.
+    private static final int MIN_RATE_PER_CPU = 30;
+    private static final String OWNER_SQL = "select u.username from refresh_tokens t join users u on u.id = t.user_id "
+            + "where t.token_hash = ?";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private record Login(String username, HttpResponse<String> response) {
+    }
+
+    @Test
+    void eachLoginGetsTokensOfItsOwnUser() throws Exception {
+        AuthApi api = new AuthApi(port);
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            usernames.add("parallel-login-" + i);
+            api.signup(usernames.get(i));
+        }
+        List<String> attempts = new ArrayList<>();
+        for (int i = 0; i < LOGINS_PER_USER; i++)
+            attempts.addAll(usernames);
+        Collections.shuffle(attempts);
+
+        long started = System.nanoTime();
+        List<Login> logins = loginInParallel(api, attempts);
+        double rate = attempts.size() * 1e9 / (System.nanoTime() - started);
+        double minRate = Double.parseDouble(System.getProperty("concurrent-login.min-rate",
+                Integer.toString(MIN_RATE_PER_CPU * Runtime.getRuntime().availableProcessors())));
+        log.info("Concurrent logins: {}/s from {} clients (floor {}/s)", Math.round(rate), CLIENTS,
+                Math.round(minRate));
+
+        ObjectMapper json = new ObjectMapper();
+        Set<String> refreshTokens = new HashSet<>();
+        for (Login login : logins) {
+            assertThat(login.response().statusCode()).isEqualTo(200);
+            AuthApi.Tokens tokens = AuthApi.tokens(login.response());
+            assertThat(refreshTokens.add(tokens.refreshToken())).as("refresh token handed out twice").isTrue();
+            String owner = jdbc.queryForObject(OWNER_SQL, String.class,
+                    RefreshTokenCodec.sha256B64(tokens.refreshToken()));
+            assertThat(owner).isEqualTo(login.username());
+            String payload = new String(Base64.getUrlDecoder().decode(tokens.accessToken().split("\\.")[1]));
+            assertThat(json.readTree(payload).path("sub").asText()).isEqualTo(login.username());
+        }
+        assertThat(rate).as("logins per second from %d clients", CLIENTS).isGreaterThanOrEqualTo(minRate);
+    }
+
+    private static List<Login> loginInParallel(AuthApi api, List<String> usernames) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Login>> futures = new ArrayList<>();
+            for (String username : usernames) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return new Login(username, api.login(username));
+                }));
+            }
+            start.countDown();
+            List<Login> logins = new ArrayList<>();
+            for (Future<Login> f : futures)
+                logins.add(f.get());
+            return logins;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.recruitai.loadtest;
+
+import com.recruitai.api.RecruitAiApiApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A wrong password and an unknown account get the same 401 body, so a
+ * stuffing run cannot tell which usernames exist.
+ */
+@SpringBootTest(classes = RecruitAiApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class FailedLoginTest {
+
+    private static final String INVALID_CREDENTIALS =
+            "{\"message\":\"Invalid credentials\",\"code\":\"INVALID_CREDENTIALS\"}";
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void wrongPasswordAndUnknownAccountAreAnsweredAlike() throws Exception {
+        AuthApi api = new AuthApi(port);
+        api.signup("failed-login");
+
+        HttpResponse<String> wrongPassword = api.login("failed-login", "Not-The-Password-1");
+        HttpResponse<String> unknownAccount = api.login("failed-login-nobody", AuthApi.PASSWORD);
+
+        for (HttpResponse<String> res : List.of(wrongPassword, unknownAccount)) {
+            assertThat(res.statusCode()).isEqualTo(401);
+            assertThat(res.body()).isEqualTo(INVALID_CREDENTIALS);
+        }
+        assertThat(api.login("failed-login").statusCode()).isEqualTo(200);
+    }
+}
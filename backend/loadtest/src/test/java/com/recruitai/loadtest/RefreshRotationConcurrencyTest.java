@@ -0,0 +1,93 @@
+package com.recruitai.loadtest;
+
+import com.recruitai.api.RecruitAiApiApplication;
+import com.recruitai.api.service.RefreshTokenCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Refresh-token rotation under contention: of many parallel refreshes of one
+ * token exactly one wins, and the losers must not revoke the winner's family.
+ */
+@SpringBootTest(classes = RecruitAiApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class RefreshRotationConcurrencyTest {
+
+    private static final int PARALLEL_REFRESHES = 300;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void exactlyOneParallelRefreshWinsAndTheWinnerStaysLoggedIn() throws Exception {
+        AuthApi api = new AuthApi(port);
+        AuthApi.Tokens session = api.signup("rotation-race");
+
+        List<HttpResponse<String>> responses = refreshInParallel(api, session.refreshToken());
+
+        List<HttpResponse<String>> winners = responses.stream().filter(r -> r.statusCode() == 200).toList();
+        assertThat(winners).hasSize(1);
+        assertThat(responses).allMatch(r -> r.statusCode() == 200 || r.statusCode() == 401);
+
+        AuthApi.Tokens rotated = AuthApi.tokens(winners.get(0));
+        assertThat(api.me(rotated.accessToken())).isEqualTo(200);
+        assertThat(api.refresh(rotated.refreshToken()).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void replayingARotatedTokenAfterTheGraceRevokesTheFamily() throws Exception {
+        AuthApi api = new AuthApi(port);
+        AuthApi.Tokens original = api.signup("rotation-replay");
+        HttpResponse<String> first = api.refresh(original.refreshToken());
+        assertThat(first.statusCode()).isEqualTo(200);
+        AuthApi.Tokens rotated = AuthApi.tokens(first);
+
+        // Move the rotation out of the grace window instead of waiting for it
+        jdbc.update("update refresh_tokens set created_at = ? where token_hash = ?",
+                Timestamp.from(Instant.now().minusSeconds(60)), RefreshTokenCodec.sha256B64(rotated.refreshToken()));
+
+        assertThat(api.refresh(original.refreshToken()).statusCode()).isEqualTo(401);
+        assertThat(api.refresh(rotated.refreshToken()).statusCode()).isEqualTo(401);
+        assertThat(api.me(rotated.accessToken())).isEqualTo(401);
+    }
+
+    private static List<HttpResponse<String>> refreshInParallel(AuthApi api, String refreshToken) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(PARALLEL_REFRESHES);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<HttpResponse<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < PARALLEL_REFRESHES; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return api.refresh(refreshToken);
+                }));
+            }
+            start.countDown();
+            List<HttpResponse<String>> responses = new ArrayList<>();
+            for (Future<HttpResponse<String>> f : futures)
+                responses.add(f.get());
+            return responses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
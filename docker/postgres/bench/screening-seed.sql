@@ -0,0 +1,54 @@
+-- Batch screening fixture: one job plus 20,000 SUBMITTED applications. Each has a
+-- synthetic resume of about 600 words, stored inline in resume_blob. Change the
+-- generate_series bound below for other sizes.
+--
+--   psql -h localhost -U recruitai -d recruitai -f docker/postgres/bench/screening-seed.sql
+--
+-- Then, as a RECRUITER or ADMIN:
+--   curl -N -X POST -H "Authorization: Bearer $TOKEN" \
+--        http://localhost:8080/api/screening/jobs/00000000-0000-0000-0000-00000000b001/run
+--
+-- Re-running resets the fixture's applications to SUBMITTED and drops their scores.
+
+INSERT INTO jobs (id, title, description, skills, location)
+VALUES ('00000000-0000-0000-0000-00000000b001',
+        'Senior Backend Engineer (bench)',
+        'We are hiring a senior backend engineer to build and run our recruiting platform. You will design '
+        || 'REST APIs in Java 17 with Spring Boot, model data in PostgreSQL, and index documents in '
+        || 'Elasticsearch. Experience with Kubernetes, Docker, Kafka and CI/CD pipelines is expected. '
+        || 'Bonus: React, TypeScript, Python, machine learning, LLM tooling, observability with Prometheus.',
+        ARRAY['Java', 'Spring Boot', 'PostgreSQL', 'Kubernetes', 'Elasticsearch'],
+        'Remote')
+ON CONFLICT (id) DO NOTHING;
+
+INSERT INTO users (id, username, email, password_hash, role, created_at)
+VALUES ('00000000-0000-0000-0000-00000000b002', 'bench-screening-candidate', 'bench-screening@example.com',
+        '$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234', 'CANDIDATE', now())
+ON CONFLICT (id) DO NOTHING;
+
+DELETE FROM applications WHERE job_id = '00000000-0000-0000-0000-00000000b001';
+
+-- Words drawn with a skew toward the front of the list, so a few skills are
+-- common and most are rare, as in real resumes
+INSERT INTO applications (id, user_id, job_id, resume_blob, status)
+SELECT gen_random_uuid(),
+       '00000000-0000-0000-0000-00000000b002',
+       '00000000-0000-0000-0000-00000000b001',
+       convert_to(r.text, 'UTF8'),
+       'SUBMITTED'
+FROM generate_series(1, 20000) AS g
+CROSS JOIN LATERAL (
+    SELECT string_agg(w.words[1 + floor(power(random(), 3) * array_length(w.words, 1))::int], ' ') AS text
+    FROM generate_series(1, 600) AS n,
+         (SELECT ARRAY['experience', 'team', 'project', 'developed', 'java', 'python', 'sql', 'docker',
+                       'spring', 'boot', 'react', 'aws', 'kubernetes', 'postgresql', 'rest', 'api',
+                       'microservices', 'kafka', 'typescript', 'javascript', 'git', 'linux', 'agile',
+                       'elasticsearch', 'terraform', 'go', 'c++', 'node.js', 'redis', 'graphql',
+                       'prometheus', 'grafana', 'machine', 'learning', 'pandas', 'spark', 'hadoop',
+                       'design', 'led', 'mentored', 'customers', 'delivered', 'improved', 'latency',
+                       'throughput', 'scaled', 'migrated', 'legacy', 'cloud', 'azure', 'gcp', 'ci/cd',
+                       'jenkins', 'selenium', 'testing', 'junit', 'hibernate', 'jpa', 'oracle', 'mysql'] AS words) AS w
+    WHERE g > 0 -- correlate, so every application gets its own text
+) AS r;
+
+ANALYZE applications;
@@ -1,32 +0,0 @@
--- Init DDL for local Postgres (AuthN/AuthZ core)
--- Matches JPA entities in backend/api/src/main/java/com/recruitai/api/user/User.java
--- and backend/api/src/main/java/com/recruitai/api/auth/token/RefreshToken.java
-
--- Note: IDs are provided by the application layer (UUID.randomUUID()), so no DB default needed.
-
-CREATE TABLE IF NOT EXISTS users (
-  id UUID PRIMARY KEY,
-  username VARCHAR(64) NOT NULL UNIQUE,
-  email VARCHAR(256) NOT NULL UNIQUE,
-  password_hash VARCHAR(100) NOT NULL,
-  role VARCHAR(16) NOT NULL,
-  created_at TIMESTAMPTZ NOT NULL
-);
-
--- Optional explicit unique indexes (columns are already UNIQUE above; kept to mirror annotations)
-CREATE UNIQUE INDEX IF NOT EXISTS idx_users_username ON users (username);
-CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email ON users (email);
-
-CREATE TABLE IF NOT EXISTS refresh_tokens (
-  id UUID PRIMARY KEY,
-  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-  token_hash VARCHAR(256) NOT NULL UNIQUE,
-  expires_at TIMESTAMPTZ NOT NULL,
-  revoked BOOLEAN NOT NULL DEFAULT false,
-  family_id UUID NOT NULL,
-  replaced_by UUID NULL,
-  created_at TIMESTAMPTZ NOT NULL DEFAULT now()
-);
-
-CREATE INDEX IF NOT EXISTS idx_refresh_user ON refresh_tokens (user_id);
-CREATE INDEX IF NOT EXISTS idx_refresh_family ON refresh_tokens (family_id);
@@ -0,0 +1,106 @@
+-- Optional: range-partition refresh_tokens by expires_at (one partition per month)
+-- so expired tokens are dropped a partition at a time instead of DELETEd row by row.
+-- Needs PostgreSQL 14 or later (DETACH PARTITION ... CONCURRENTLY).
+--
+-- Apply once, after the API has started and run its Flyway migrations (it
+-- replaces the table V1-V8 created), then run the API with
+--   app.security.refresh-reaper.mode=partitions
+-- RefreshTokenReaper then calls the two functions below on every run.
+--
+-- Applied an earlier version of this file (drop_expired_refresh_token_partitions
+-- and a DEFAULT partition)? Once refresh_tokens_default is empty, run
+--   DROP FUNCTION drop_expired_refresh_token_partitions();
+--   DROP TABLE refresh_tokens_default;
+-- and the CREATE FUNCTION expired_refresh_token_partitions statement below.
+--
+--   psql -h localhost -U recruitai -d recruitai -f docker/postgres/optional/refresh-tokens-partitioned.sql
+--
+-- Postgres requires the partition key in every unique constraint, so the primary
+-- key becomes (id, expires_at) and token_hash uniqueness becomes
+-- (token_hash, expires_at). Lookups by token_hash still use that index prefix, and
+-- with only a handful of live partitions findByTokenHash stays flat over time.
+
+BEGIN;
+
+ALTER TABLE IF EXISTS refresh_tokens RENAME TO refresh_tokens_unpartitioned;
+ALTER INDEX IF EXISTS idx_refresh_user_created RENAME TO idx_refresh_user_created_unpartitioned;
+ALTER INDEX IF EXISTS idx_refresh_family_created RENAME TO idx_refresh_family_created_unpartitioned;
+ALTER INDEX IF EXISTS idx_refresh_expires RENAME TO idx_refresh_expires_unpartitioned;
+ALTER INDEX IF EXISTS idx_refresh_revoked_at RENAME TO idx_refresh_revoked_at_unpartitioned;
+
+CREATE TABLE refresh_tokens (
+  id UUID NOT NULL,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  token_hash VARCHAR(256) NOT NULL,
+  expires_at TIMESTAMPTZ NOT NULL,
+  revoked BOOLEAN NOT NULL DEFAULT false,
+  revoked_at TIMESTAMPTZ,
+  family_id UUID NOT NULL,
+  replaced_by UUID NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  access_jti VARCHAR(64),
+  PRIMARY KEY (id, expires_at),
+  UNIQUE (token_hash, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+CREATE INDEX idx_refresh_user_created ON refresh_tokens (user_id, created_at);
+CREATE INDEX idx_refresh_family_created ON refresh_tokens (family_id, created_at);
+-- Expiry is handled by dropping partitions; the reaper still batch-deletes
+-- revoked rows past retention, which scan this
+CREATE INDEX idx_refresh_revoked_at ON refresh_tokens (revoked_at) WHERE revoked;
+
+-- No DEFAULT partition: PostgreSQL refuses DETACH PARTITION ... CONCURRENTLY while
+-- one exists. The reaper pre-creates partitions-ahead months on every run, far more
+-- than the refresh-token TTL, so an insert only finds no partition if no reaper has
+-- run for that long.
+
+CREATE OR REPLACE FUNCTION ensure_refresh_token_partitions(months_ahead INT)
+RETURNS VOID LANGUAGE plpgsql AS $$
+DECLARE
+  m DATE;
+  part TEXT;
+BEGIN
+  FOR i IN 0..months_ahead LOOP
+    m := (date_trunc('month', now()) + make_interval(months => i))::date;
+    part := 'refresh_tokens_p' || to_char(m, 'YYYYMM');
+    EXECUTE format(
+      'CREATE TABLE IF NOT EXISTS %I PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+      part, m, (m + INTERVAL '1 month')::date);
+  END LOOP;
+END;
+$$;
+
+-- Monthly partitions whose upper bound is in the past: every row in them has
+-- expired. RefreshTokenReaper detaches each one CONCURRENTLY, which takes only
+-- SHARE UPDATE EXCLUSIVE on refresh_tokens, and then drops it. A DROP TABLE or
+-- plain DETACH of a partition takes ACCESS EXCLUSIVE on refresh_tokens, and every
+-- login and refresh would queue behind it. CONCURRENTLY cannot run inside a
+-- function (it needs transactions of its own), so this only lists them.
+--
+-- state: attached; pending (a concurrent detach was interrupted, and only
+-- DETACH PARTITION ... FINALIZE completes it); detached (not dropped yet).
+CREATE OR REPLACE FUNCTION expired_refresh_token_partitions()
+RETURNS TABLE (partition_name TEXT, state TEXT) LANGUAGE sql STABLE AS $$
+  SELECT c.relname::text,
+         CASE WHEN i.inhrelid IS NULL THEN 'detached'
+              WHEN i.inhdetachpending THEN 'pending'
+              ELSE 'attached' END
+  FROM pg_class c
+  LEFT JOIN pg_inherits i ON i.inhrelid = c.oid
+  WHERE c.relkind = 'r'
+    AND pg_table_is_visible(c.oid)
+    AND c.relname ~ '^refresh_tokens_p[0-9]{6}$'
+    AND to_date(substring(c.relname from 17), 'YYYYMM') + INTERVAL '1 month' <= now()
+  ORDER BY c.relname;
+$$;
+
+SELECT ensure_refresh_token_partitions(2);
+
+INSERT INTO refresh_tokens
+SELECT id, user_id, token_hash, expires_at, revoked, revoked_at, family_id, replaced_by, created_at, access_jti
+FROM refresh_tokens_unpartitioned
+WHERE expires_at >= date_trunc('month', now());
+
+DROP TABLE IF EXISTS refresh_tokens_unpartitioned;
+
+COMMIT;
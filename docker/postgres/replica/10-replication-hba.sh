@@ -0,0 +1,4 @@
+#!/bin/sh
+# Lets the postgres-replica service stream from this server (fresh volumes only;
+# on an existing volume append the same line to pg_hba.conf and reload)
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -95,7 +95,10 @@ api.interceptors.response.use(
         const original = error?.config as (InternalAxiosRequestConfig & { _retry?: boolean }) | undefined;
         const status = error?.response?.status;
 
-        if (status === 401 && original && !original._retry) {
+        // A 401 from login/signup means bad credentials, not an expired access token
+        const isCredentialCall = original?.url === "/auth/login" || original?.url === "/auth/signup";
+
+        if (status === 401 && original && !original._retry && !isCredentialCall) {
             if (isRefreshing) {
                 return new Promise((resolve, reject) => {
                     pendingQueue.push({ resolve, reject });
@@ -156,3 +159,7 @@ export async function me(): Promise<MeResponse> {
     const { data } = await api.get<MeResponse>("/users/me");
     return data;
 }
+
+export async function logoutAll(): Promise<void> {
+    await api.post("/auth/logout-all");
+}